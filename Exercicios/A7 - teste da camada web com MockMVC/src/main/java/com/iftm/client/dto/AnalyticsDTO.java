@@ -0,0 +1,93 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+public class AnalyticsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long count;
+	private Double incomeP50;
+	private Double incomeP90;
+	private Double incomeP99;
+	private double[] incomeBucketEdges;
+	private Map<Integer, long[]> incomeHistogramByChildren;
+	private Integer ageBucketYears;
+	private Map<Integer, long[]> ageHistogramByChildren;
+	private Long elapsedMillis;
+
+	public AnalyticsDTO() {
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Double getIncomeP50() {
+		return incomeP50;
+	}
+
+	public void setIncomeP50(Double incomeP50) {
+		this.incomeP50 = incomeP50;
+	}
+
+	public Double getIncomeP90() {
+		return incomeP90;
+	}
+
+	public void setIncomeP90(Double incomeP90) {
+		this.incomeP90 = incomeP90;
+	}
+
+	public Double getIncomeP99() {
+		return incomeP99;
+	}
+
+	public void setIncomeP99(Double incomeP99) {
+		this.incomeP99 = incomeP99;
+	}
+
+	public double[] getIncomeBucketEdges() {
+		return incomeBucketEdges;
+	}
+
+	public void setIncomeBucketEdges(double[] incomeBucketEdges) {
+		this.incomeBucketEdges = incomeBucketEdges;
+	}
+
+	public Map<Integer, long[]> getIncomeHistogramByChildren() {
+		return incomeHistogramByChildren;
+	}
+
+	public void setIncomeHistogramByChildren(Map<Integer, long[]> incomeHistogramByChildren) {
+		this.incomeHistogramByChildren = incomeHistogramByChildren;
+	}
+
+	public Integer getAgeBucketYears() {
+		return ageBucketYears;
+	}
+
+	public void setAgeBucketYears(Integer ageBucketYears) {
+		this.ageBucketYears = ageBucketYears;
+	}
+
+	public Map<Integer, long[]> getAgeHistogramByChildren() {
+		return ageHistogramByChildren;
+	}
+
+	public void setAgeHistogramByChildren(Map<Integer, long[]> ageHistogramByChildren) {
+		this.ageHistogramByChildren = ageHistogramByChildren;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(Long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+}
@@ -0,0 +1,79 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchInsertResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public static class Item implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private Integer index;
+		private Long id;
+		private String error;
+
+		public Item() {
+		}
+
+		public Item(Integer index, Long id, String error) {
+			this.index = index;
+			this.id = id;
+			this.error = error;
+		}
+
+		public Integer getIndex() {
+			return index;
+		}
+
+		public void setIndex(Integer index) {
+			this.index = index;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		public void setError(String error) {
+			this.error = error;
+		}
+	}
+
+	private Integer inserted = 0;
+	private Integer failed = 0;
+	private List<Item> items = new ArrayList<>();
+
+	public BatchInsertResultDTO() {
+	}
+
+	public void addSuccess(int index, Long id) {
+		items.add(new Item(index, id, null));
+		inserted++;
+	}
+
+	public void addError(int index, String error) {
+		items.add(new Item(index, null, error));
+		failed++;
+	}
+
+	public Integer getInserted() {
+		return inserted;
+	}
+
+	public Integer getFailed() {
+		return failed;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+}
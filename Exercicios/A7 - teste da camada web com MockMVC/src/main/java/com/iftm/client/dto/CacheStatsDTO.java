@@ -0,0 +1,64 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+
+public class CacheStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Boolean enabled;
+	private Integer size;
+	private Long hits;
+	private Long misses;
+	private Long evictions;
+
+	public CacheStatsDTO() {
+	}
+
+	public CacheStatsDTO(Boolean enabled, Integer size, Long hits, Long misses, Long evictions) {
+		this.enabled = enabled;
+		this.size = size;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Long getHits() {
+		return hits;
+	}
+
+	public void setHits(Long hits) {
+		this.hits = hits;
+	}
+
+	public Long getMisses() {
+		return misses;
+	}
+
+	public void setMisses(Long misses) {
+		this.misses = misses;
+	}
+
+	public Long getEvictions() {
+		return evictions;
+	}
+
+	public void setEvictions(Long evictions) {
+		this.evictions = evictions;
+	}
+}
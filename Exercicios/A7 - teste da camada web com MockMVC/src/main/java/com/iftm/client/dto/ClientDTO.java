@@ -14,6 +14,7 @@ public class ClientDTO implements Serializable {
 	private Double income;
 	private Instant birthDate;
 	private Integer children;
+	private Long version;
 	
 	public ClientDTO() {
 	}
@@ -34,6 +35,7 @@ public class ClientDTO implements Serializable {
 		this.income = entity.getIncome();
 		this.birthDate = entity.getBirthDate();
 		this.children = entity.getChildren();
+		this.version = entity.getVersion();
 	}
 
 	public Long getId() {
@@ -84,6 +86,14 @@ public class ClientDTO implements Serializable {
 		this.children = children;
 	}
 	
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+	
 	public Client toEntity() {
 		return new Client(id, name, cpf, income, birthDate, children);
 	}
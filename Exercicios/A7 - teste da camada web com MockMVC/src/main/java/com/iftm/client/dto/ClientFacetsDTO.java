@@ -0,0 +1,56 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+public class ClientFacetsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long count;
+	private Map<Integer, Long> childrenCounts;
+	private Map<Integer, Long> birthMonthCounts;
+	private Map<String, Long> incomeBucketCounts;
+
+	public ClientFacetsDTO() {
+	}
+
+	public ClientFacetsDTO(Long count, Map<Integer, Long> childrenCounts, Map<Integer, Long> birthMonthCounts,
+			Map<String, Long> incomeBucketCounts) {
+		this.count = count;
+		this.childrenCounts = childrenCounts;
+		this.birthMonthCounts = birthMonthCounts;
+		this.incomeBucketCounts = incomeBucketCounts;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Map<Integer, Long> getChildrenCounts() {
+		return childrenCounts;
+	}
+
+	public void setChildrenCounts(Map<Integer, Long> childrenCounts) {
+		this.childrenCounts = childrenCounts;
+	}
+
+	public Map<Integer, Long> getBirthMonthCounts() {
+		return birthMonthCounts;
+	}
+
+	public void setBirthMonthCounts(Map<Integer, Long> birthMonthCounts) {
+		this.birthMonthCounts = birthMonthCounts;
+	}
+
+	public Map<String, Long> getIncomeBucketCounts() {
+		return incomeBucketCounts;
+	}
+
+	public void setIncomeBucketCounts(Map<String, Long> incomeBucketCounts) {
+		this.incomeBucketCounts = incomeBucketCounts;
+	}
+}
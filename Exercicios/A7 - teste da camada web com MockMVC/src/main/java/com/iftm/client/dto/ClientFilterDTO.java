@@ -0,0 +1,90 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/*
+ * Critérios do GET /clients/filter. Campo nulo = critério ausente; as faixas
+ * são fechadas (min e max inclusivos).
+ */
+public class ClientFilterDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Double incomeMin;
+	private Double incomeMax;
+	private Integer childrenMin;
+	private Integer childrenMax;
+	private Instant birthStart;
+	private Instant birthEnd;
+	private String name;
+
+	public ClientFilterDTO() {
+	}
+
+	public ClientFilterDTO(Double incomeMin, Double incomeMax, Integer childrenMin, Integer childrenMax,
+			Instant birthStart, Instant birthEnd, String name) {
+		this.incomeMin = incomeMin;
+		this.incomeMax = incomeMax;
+		this.childrenMin = childrenMin;
+		this.childrenMax = childrenMax;
+		this.birthStart = birthStart;
+		this.birthEnd = birthEnd;
+		this.name = name;
+	}
+
+	public Double getIncomeMin() {
+		return incomeMin;
+	}
+
+	public void setIncomeMin(Double incomeMin) {
+		this.incomeMin = incomeMin;
+	}
+
+	public Double getIncomeMax() {
+		return incomeMax;
+	}
+
+	public void setIncomeMax(Double incomeMax) {
+		this.incomeMax = incomeMax;
+	}
+
+	public Integer getChildrenMin() {
+		return childrenMin;
+	}
+
+	public void setChildrenMin(Integer childrenMin) {
+		this.childrenMin = childrenMin;
+	}
+
+	public Integer getChildrenMax() {
+		return childrenMax;
+	}
+
+	public void setChildrenMax(Integer childrenMax) {
+		this.childrenMax = childrenMax;
+	}
+
+	public Instant getBirthStart() {
+		return birthStart;
+	}
+
+	public void setBirthStart(Instant birthStart) {
+		this.birthStart = birthStart;
+	}
+
+	public Instant getBirthEnd() {
+		return birthEnd;
+	}
+
+	public void setBirthEnd(Instant birthEnd) {
+		this.birthEnd = birthEnd;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+}
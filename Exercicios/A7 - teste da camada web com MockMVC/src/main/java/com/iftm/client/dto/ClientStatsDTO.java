@@ -0,0 +1,87 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class ClientStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long count;
+	private Long incomeCount;
+	private BigDecimal incomeSum;
+	private Double incomeAverage;
+	private Double incomeMin;
+	private Double incomeMax;
+	private Map<Integer, Long> childrenCounts;
+
+	public ClientStatsDTO() {
+	}
+
+	public ClientStatsDTO(Long count, Long incomeCount, BigDecimal incomeSum, Double incomeAverage, Double incomeMin,
+			Double incomeMax, Map<Integer, Long> childrenCounts) {
+		this.count = count;
+		this.incomeCount = incomeCount;
+		this.incomeSum = incomeSum;
+		this.incomeAverage = incomeAverage;
+		this.incomeMin = incomeMin;
+		this.incomeMax = incomeMax;
+		this.childrenCounts = childrenCounts;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Long getIncomeCount() {
+		return incomeCount;
+	}
+
+	public void setIncomeCount(Long incomeCount) {
+		this.incomeCount = incomeCount;
+	}
+
+	public BigDecimal getIncomeSum() {
+		return incomeSum;
+	}
+
+	public void setIncomeSum(BigDecimal incomeSum) {
+		this.incomeSum = incomeSum;
+	}
+
+	public Double getIncomeAverage() {
+		return incomeAverage;
+	}
+
+	public void setIncomeAverage(Double incomeAverage) {
+		this.incomeAverage = incomeAverage;
+	}
+
+	public Double getIncomeMin() {
+		return incomeMin;
+	}
+
+	public void setIncomeMin(Double incomeMin) {
+		this.incomeMin = incomeMin;
+	}
+
+	public Double getIncomeMax() {
+		return incomeMax;
+	}
+
+	public void setIncomeMax(Double incomeMax) {
+		this.incomeMax = incomeMax;
+	}
+
+	public Map<Integer, Long> getChildrenCounts() {
+		return childrenCounts;
+	}
+
+	public void setChildrenCounts(Map<Integer, Long> childrenCounts) {
+		this.childrenCounts = childrenCounts;
+	}
+}
@@ -0,0 +1,76 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+/*
+ * Envelope enxuto de página (envelope=compact): só o conteúdo, o token da
+ * próxima página (null na última) e o total, sem os blocos pageable/sort e
+ * as flags do PageImpl. O token depende do modo de paginação, ver os of().
+ */
+public class CompactPageDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+	private String next;
+	private Long total;
+
+	public CompactPageDTO() {
+	}
+
+	public CompactPageDTO(List<T> content, String next, Long total) {
+		this.content = content;
+		this.next = next;
+		this.total = total;
+	}
+
+	/*
+	 * "next" é o número da próxima página, para ser repassado em "page".
+	 */
+	public static <T> CompactPageDTO<T> of(Page<T> page) {
+		String next = page.hasNext() ? String.valueOf(page.getNumber() + 1) : null;
+		return new CompactPageDTO<>(page.getContent(), next, page.getTotalElements());
+	}
+
+	/*
+	 * Modo cursor: "next" é o token para "cursor"; não há total.
+	 */
+	public static <T> CompactPageDTO<T> of(CursorPageDTO<T> page) {
+		return new CompactPageDTO<>(page.getContent(), page.getNextCursor(), null);
+	}
+
+	/*
+	 * Modo slice: "next" é o número da próxima página; o total só vem com
+	 * withTotal=true.
+	 */
+	public static <T> CompactPageDTO<T> of(SlicePageDTO<T> page) {
+		String next = Boolean.TRUE.equals(page.getHasNext()) ? String.valueOf(page.getNumber() + 1) : null;
+		return new CompactPageDTO<>(page.getContent(), next, page.getTotalElements());
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public Long getTotal() {
+		return total;
+	}
+
+	public void setTotal(Long total) {
+		this.total = total;
+	}
+}
@@ -0,0 +1,24 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+
+public class DeleteResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long deleted;
+
+	public DeleteResultDTO() {
+	}
+
+	public DeleteResultDTO(Long deleted) {
+		this.deleted = deleted;
+	}
+
+	public Long getDeleted() {
+		return deleted;
+	}
+
+	public void setDeleted(Long deleted) {
+		this.deleted = deleted;
+	}
+}
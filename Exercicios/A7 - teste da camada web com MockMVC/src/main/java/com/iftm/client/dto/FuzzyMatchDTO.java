@@ -0,0 +1,44 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+
+public class FuzzyMatchDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String name;
+	private Double similarity;
+
+	public FuzzyMatchDTO() {
+	}
+
+	public FuzzyMatchDTO(Long id, String name, Double similarity) {
+		this.id = id;
+		this.name = name;
+		this.similarity = similarity;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Double getSimilarity() {
+		return similarity;
+	}
+
+	public void setSimilarity(Double similarity) {
+		this.similarity = similarity;
+	}
+}
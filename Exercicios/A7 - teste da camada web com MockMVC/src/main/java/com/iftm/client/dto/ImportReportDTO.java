@@ -0,0 +1,66 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReportDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	// só as primeiras linhas rejeitadas são detalhadas no relatório
+	private static final int MAX_DETALHES = 100;
+
+	private Long read = 0L;
+	private Long inserted = 0L;
+	private Long rejected = 0L;
+	private Long elapsedMillis = 0L;
+	private Double rowsPerSecond = 0.0;
+	private List<String> rejectedLines = new ArrayList<>();
+
+	public ImportReportDTO() {
+	}
+
+	public void addRead() {
+		read++;
+	}
+
+	public void addInserted(long quantidade) {
+		inserted += quantidade;
+	}
+
+	public void addRejected(long linha, String motivo) {
+		rejected++;
+		if (rejectedLines.size() < MAX_DETALHES) {
+			rejectedLines.add("line " + linha + ": " + motivo);
+		}
+	}
+
+	public void finish(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+		this.rowsPerSecond = elapsedMillis == 0 ? inserted.doubleValue() : inserted * 1000.0 / elapsedMillis;
+	}
+
+	public Long getRead() {
+		return read;
+	}
+
+	public Long getInserted() {
+		return inserted;
+	}
+
+	public Long getRejected() {
+		return rejected;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public Double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public List<String> getRejectedLines() {
+		return rejectedLines;
+	}
+}
@@ -0,0 +1,181 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+
+import com.iftm.client.services.exceptions.BadRequestException;
+
+/*
+ * Parâmetros comuns das listagens paginadas (/clients, /income/,
+ * /incomeGreaterThan/, /cpf/ e /byChildren), ligados da query string e
+ * validados num lugar só:
+ * - paginação: por offset (padrão), por cursor/keyset ("cursor", vazio na
+ *   primeira página; a resposta traz nextCursor) ou slice ("slice=true", sem
+ *   o SELECT COUNT(*); com "withTotal=true" o total vem do cache de
+ *   contagens e totalExact diz se é exato);
+ * - projeção: "fields=id,name" seleciona só essas colunas, só na paginação
+ *   por offset;
+ * - envelope: "envelope=compact" troca a página por {content, next, total},
+ *   em qualquer modo ("next" é o cursor ou o número da próxima página);
+ * - leitura: "reader=jdbc", só na paginação por offset sem projeção.
+ * Qualquer outra combinação é 400, em vez de ser ignorada.
+ */
+public class ListingParamsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Mode {
+		OFFSET, CURSOR, SLICE
+	}
+
+	private static final String COMPACT = "compact";
+	private static final String JPA = "jpa";
+	private static final String JDBC = "jdbc";
+
+	private int page = 0;
+	private int linesPerPage = 12;
+	private String direction = "ASC";
+	private String orderBy = "name";
+	private String cursor;
+	private boolean slice;
+	private boolean withTotal;
+	private String fields;
+	private String envelope;
+	private String reader = JPA;
+
+	/*
+	 * Modo de paginação pedido. Recusa as combinações sem suporte.
+	 */
+	public Mode mode() {
+		boolean porCursor = cursor != null;
+		if (porCursor && slice) {
+			throw new BadRequestException("cursor and slice=true cannot be combined");
+		}
+		if (envelope != null && !COMPACT.equals(envelope)) {
+			throw new BadRequestException("Invalid envelope: " + envelope);
+		}
+		if (!JPA.equals(reader) && !JDBC.equals(reader)) {
+			throw new BadRequestException("Invalid reader: " + reader);
+		}
+		if (fields != null && porCursor) {
+			throw new BadRequestException("fields is not supported with cursor pagination");
+		}
+		if (fields != null && slice) {
+			throw new BadRequestException("fields is not supported with slice pagination");
+		}
+		if (isJdbc() && (porCursor || slice || fields != null)) {
+			throw new BadRequestException("reader=jdbc is only supported with offset pagination without fields");
+		}
+		if (withTotal && !slice) {
+			throw new BadRequestException("withTotal requires slice=true");
+		}
+		return porCursor ? Mode.CURSOR : slice ? Mode.SLICE : Mode.OFFSET;
+	}
+
+	public PageRequest pageRequest() {
+		if (page < 0) {
+			throw new BadRequestException("page must not be negative");
+		}
+		if (linesPerPage < 1) {
+			throw new BadRequestException("linesPerPage must be positive");
+		}
+		return PageRequest.of(page, linesPerPage, direction(), orderBy);
+	}
+
+	public Direction direction() {
+		try {
+			return Direction.valueOf(direction);
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid direction: " + direction);
+		}
+	}
+
+	public boolean isCompact() {
+		return COMPACT.equals(envelope);
+	}
+
+	public boolean isJdbc() {
+		return JDBC.equals(reader);
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	public int getLinesPerPage() {
+		return linesPerPage;
+	}
+
+	public void setLinesPerPage(int linesPerPage) {
+		this.linesPerPage = linesPerPage;
+	}
+
+	public String getDirection() {
+		return direction;
+	}
+
+	public void setDirection(String direction) {
+		this.direction = direction;
+	}
+
+	public String getOrderBy() {
+		return orderBy;
+	}
+
+	public void setOrderBy(String orderBy) {
+		this.orderBy = orderBy;
+	}
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public boolean isSlice() {
+		return slice;
+	}
+
+	public void setSlice(boolean slice) {
+		this.slice = slice;
+	}
+
+	public boolean isWithTotal() {
+		return withTotal;
+	}
+
+	public void setWithTotal(boolean withTotal) {
+		this.withTotal = withTotal;
+	}
+
+	public String getFields() {
+		return fields;
+	}
+
+	public void setFields(String fields) {
+		this.fields = fields;
+	}
+
+	public String getEnvelope() {
+		return envelope;
+	}
+
+	public void setEnvelope(String envelope) {
+		this.envelope = envelope;
+	}
+
+	public String getReader() {
+		return reader;
+	}
+
+	public void setReader(String reader) {
+		this.reader = reader;
+	}
+}
@@ -0,0 +1,39 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/*
+ * Resposta das buscas por lista de chaves: os clientes encontrados, na ordem
+ * das chaves pedidas, e as chaves que não encontraram ninguém.
+ */
+public class MultiGetDTO<K> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<ClientDTO> content;
+	private List<K> missing;
+
+	public MultiGetDTO() {
+	}
+
+	public MultiGetDTO(List<ClientDTO> content, List<K> missing) {
+		this.content = content;
+		this.missing = missing;
+	}
+
+	public List<ClientDTO> getContent() {
+		return content;
+	}
+
+	public void setContent(List<ClientDTO> content) {
+		this.content = content;
+	}
+
+	public List<K> getMissing() {
+		return missing;
+	}
+
+	public void setMissing(List<K> missing) {
+		this.missing = missing;
+	}
+}
@@ -0,0 +1,54 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+
+public class ReadModelStatusDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String mode;
+	private Boolean ready;
+	private Long size;
+	private Long pendingEvents;
+
+	public ReadModelStatusDTO() {
+	}
+
+	public ReadModelStatusDTO(String mode, Boolean ready, Long size, Long pendingEvents) {
+		this.mode = mode;
+		this.ready = ready;
+		this.size = size;
+		this.pendingEvents = pendingEvents;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public Boolean getReady() {
+		return ready;
+	}
+
+	public void setReady(Boolean ready) {
+		this.ready = ready;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Long getPendingEvents() {
+		return pendingEvents;
+	}
+
+	public void setPendingEvents(Long pendingEvents) {
+		this.pendingEvents = pendingEvents;
+	}
+}
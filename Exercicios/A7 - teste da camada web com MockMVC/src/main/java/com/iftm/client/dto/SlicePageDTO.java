@@ -0,0 +1,73 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class SlicePageDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+	private Integer number;
+	private Integer size;
+	private Boolean hasNext;
+	private Long totalElements;
+	private Boolean totalExact;
+
+	public SlicePageDTO() {
+	}
+
+	public SlicePageDTO(List<T> content, Integer number, Integer size, Boolean hasNext) {
+		this.content = content;
+		this.number = number;
+		this.size = size;
+		this.hasNext = hasNext;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public Integer getNumber() {
+		return number;
+	}
+
+	public void setNumber(Integer number) {
+		this.number = number;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public Long getTotalElements() {
+		return totalElements;
+	}
+
+	public void setTotalElements(Long totalElements) {
+		this.totalElements = totalElements;
+	}
+
+	public Boolean getTotalExact() {
+		return totalExact;
+	}
+
+	public void setTotalExact(Boolean totalExact) {
+		this.totalExact = totalExact;
+	}
+}
@@ -1,27 +1,81 @@
 package com.iftm.client.entities;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+/*
+ * @DynamicUpdate: o UPDATE leva só as colunas que mudaram (um PATCH de nome
+ * não regrava o resto da linha). @Version dá a concorrência otimista: quem
+ * escreve sobre uma versão antiga recebe conflito em vez de sobrescrever.
+ */
 @Entity
-@Table(name = "tb_client")
+@DynamicUpdate
+@Table(name = "tb_client", indexes = {
+		@Index(name = "idx_client_children_name", columnList = "children, name"),
+		@Index(name = "idx_client_name", columnList = "name, id"),
+		@Index(name = "idx_client_income", columnList = "income_cents, id"),
+		@Index(name = "idx_client_birth_date", columnList = "birthDate, id"),
+		@Index(name = "idx_client_birth_year", columnList = "birth_year, id"),
+		@Index(name = "idx_client_birth_month", columnList = "birth_month, id")
+})
 public class Client implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
+	/*
+	 * Sequence com alocação em blocos (pooled): o Hibernate reserva 50 ids por
+	 * ida ao banco e consegue agrupar os INSERTs em lotes JDBC, o que o IDENTITY
+	 * impede. Os 12 registros do import.sql usam ids explícitos, por isso a
+	 * sequence começa em 13.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+	@SequenceGenerator(name = "client_seq", sequenceName = "tb_client_seq", initialValue = 13, allocationSize = 50)
 	private Long id;
 	private String name;
 	private String cpf;
-	private Double income;
+
+	/*
+	 * Renda em centavos: igualdade e faixas viram comparação exata de inteiros
+	 * no índice e a hidratação não cria Double. A API continua em reais
+	 * (getIncome/setIncome); renda ausente continua null.
+	 */
+	@Column(name = "income_cents")
+	private Long incomeCents;
 	private Instant birthDate;
 	private Integer children;
+
+	/*
+	 * Ano e mês de nascimento (UTC) gravados em colunas próprias e indexadas.
+	 * Consultas por idade ou por mês filtram direto nelas, em vez de aplicar
+	 * YEAR()/EXTRACT() sobre birth_date, o que impediria o uso de índice. São
+	 * derivados de birthDate no ciclo de vida da entidade, por isso não têm
+	 * setter.
+	 */
+	@Column(name = "birth_year")
+	private Integer birthYear;
+	@Column(name = "birth_month")
+	private Integer birthMonth;
+
+	@Version
+	private Long version;
 	
 	public Client() {
 	}
@@ -30,7 +84,7 @@ public class Client implements Serializable {
 		this.id = id;
 		this.name = name;
 		this.cpf = cpf;
-		this.income = income;
+		setIncome(income);
 		this.birthDate = birthDate;
 		this.children = children;
 	}
@@ -60,11 +114,19 @@ public class Client implements Serializable {
 	}
 
 	public Double getIncome() {
-		return income;
+		return incomeCents == null ? null : incomeCents / 100.0;
 	}
 
 	public void setIncome(Double income) {
-		this.income = income;
+		this.incomeCents = income == null ? null : toCents(income);
+	}
+
+	public Long getIncomeCents() {
+		return incomeCents;
+	}
+
+	public void setIncomeCents(Long incomeCents) {
+		this.incomeCents = incomeCents;
 	}
 
 	public Instant getBirthDate() {
@@ -83,6 +145,68 @@ public class Client implements Serializable {
 		this.children = children;
 	}
 
+	public Integer getBirthYear() {
+		return birthYear;
+	}
+
+	public Integer getBirthMonth() {
+		return birthMonth;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	@PrePersist
+	@PreUpdate
+	private void derivarNascimento() {
+		birthYear = birthYearOf(birthDate);
+		birthMonth = birthMonthOf(birthDate);
+	}
+
+	/*
+	 * Reais -> centavos, arredondando frações de centavo (HALF_EVEN). Usa o
+	 * valor decimal do double (BigDecimal.valueOf), então 0.1 vira 10, não 9.
+	 * NaN, infinito ou valor que não cabe em centavos (long) dão
+	 * IllegalArgumentException; a renda vinda da requisição é validada antes
+	 * (Validador.rendaValida), que responde 400.
+	 */
+	public static long toCents(double income) {
+		return centavos(income, RoundingMode.HALF_EVEN);
+	}
+
+	/*
+	 * Maior valor em centavos que não passa de income: "renda > x" é o mesmo
+	 * que "centavos > floorCents(x)", inclusive para x com fração de centavo.
+	 */
+	public static long floorCents(double income) {
+		return centavos(income, RoundingMode.FLOOR);
+	}
+
+	/* menor valor em centavos que não fica abaixo de income ("renda >= x") */
+	public static long ceilCents(double income) {
+		return centavos(income, RoundingMode.CEILING);
+	}
+
+	private static long centavos(double income, RoundingMode arredondamento) {
+		if (Double.isNaN(income) || Double.isInfinite(income)) {
+			throw new IllegalArgumentException("income must be a finite number");
+		}
+		try {
+			return BigDecimal.valueOf(income).movePointRight(2).setScale(0, arredondamento).longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("income out of range: " + income);
+		}
+	}
+
+	public static Integer birthYearOf(Instant birthDate) {
+		return birthDate == null ? null : ZonedDateTime.ofInstant(birthDate, ZoneOffset.UTC).getYear();
+	}
+
+	public static Integer birthMonthOf(Instant birthDate) {
+		return birthDate == null ? null : ZonedDateTime.ofInstant(birthDate, ZoneOffset.UTC).getMonthValue();
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
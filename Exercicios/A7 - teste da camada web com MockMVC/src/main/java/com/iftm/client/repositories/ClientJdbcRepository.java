@@ -0,0 +1,246 @@
+package com.iftm.client.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.exceptions.BadRequestException;
+
+/*
+ * Caminho de leitura via JDBC para as listagens: seleciona só as colunas do
+ * ClientDTO e mapeia cada linha direto para o DTO, sem entidade gerenciada,
+ * snapshot de dirty-checking ou cópia entidade -> DTO.
+ */
+@Repository
+public class ClientJdbcRepository {
+
+	private static final String COLUNAS = "id, name, cpf, income_cents, birth_date, children, version";
+
+	private static final RowMapper<ClientDTO> DTO_MAPPER = ClientJdbcRepository::mapRow;
+
+	/*
+	 * Campos aceitos em "fields=" (nome no JSON -> coluna), na ordem do ClientDTO.
+	 */
+	private static final Map<String, String> CAMPOS = new LinkedHashMap<>();
+
+	static {
+		CAMPOS.put("id", "id");
+		CAMPOS.put("name", "name");
+		CAMPOS.put("cpf", "cpf");
+		CAMPOS.put("income", "income_cents");
+		CAMPOS.put("birthDate", "birth_date");
+		CAMPOS.put("children", "children");
+		CAMPOS.put("version", "version");
+	}
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	public Page<ClientDTO> findAll(Pageable pageable) {
+		return findPage(null, new MapSqlParameterSource(), pageable);
+	}
+
+	public Page<ClientDTO> findByIncome(Double income, Pageable pageable) {
+		return findPage("income_cents = :income", new MapSqlParameterSource("income", Client.toCents(income)), pageable);
+	}
+
+	public Page<ClientDTO> findByIncomeGreaterThan(double income, Pageable pageable) {
+		return findPage("income_cents > :income", new MapSqlParameterSource("income", Client.floorCents(income)), pageable);
+	}
+
+	public Page<ClientDTO> findByCpfLike(String cpf, Pageable pageable) {
+		return findPage("cpf LIKE :cpf", new MapSqlParameterSource("cpf", cpf), pageable);
+	}
+
+	/*
+	 * Projeções das mesmas listagens para "fields=": o SELECT traz só as
+	 * colunas pedidas e cada linha vira um mapa com só essas propriedades,
+	 * então o JSON também só as contém.
+	 */
+	public Page<Map<String, Object>> findAll(List<String> campos, Pageable pageable) {
+		return findPage(colunas(campos), projecao(campos), null, new MapSqlParameterSource(), pageable);
+	}
+
+	public Page<Map<String, Object>> findByIncome(Double income, List<String> campos, Pageable pageable) {
+		return findPage(colunas(campos), projecao(campos), "income_cents = :income",
+				new MapSqlParameterSource("income", Client.toCents(income)), pageable);
+	}
+
+	public Page<Map<String, Object>> findByIncomeGreaterThan(double income, List<String> campos, Pageable pageable) {
+		return findPage(colunas(campos), projecao(campos), "income_cents > :income",
+				new MapSqlParameterSource("income", Client.floorCents(income)), pageable);
+	}
+
+	public Page<Map<String, Object>> findByCpfLike(String cpf, List<String> campos, Pageable pageable) {
+		return findPage(colunas(campos), projecao(campos), "cpf LIKE :cpf", new MapSqlParameterSource("cpf", cpf),
+				pageable);
+	}
+
+	public Page<Map<String, Object>> findByChildrenGreaterThanEqual(Integer children, List<String> campos,
+			Pageable pageable) {
+		return findPage(colunas(campos), projecao(campos), "children >= :children",
+				new MapSqlParameterSource("children", children), pageable);
+	}
+
+	/*
+	 * "id,name" -> [id, name], na ordem pedida e sem repetições. Campo
+	 * desconhecido ou lista vazia é 400.
+	 */
+	public static List<String> campos(String fields) {
+		List<String> campos = new ArrayList<>();
+		for (String campo : fields.split(",")) {
+			campo = campo.trim();
+			if (campo.isEmpty()) {
+				continue;
+			}
+			if (!CAMPOS.containsKey(campo)) {
+				throw new BadRequestException("Invalid field: " + campo);
+			}
+			if (!campos.contains(campo)) {
+				campos.add(campo);
+			}
+		}
+		if (campos.isEmpty()) {
+			throw new BadRequestException("fields must not be empty");
+		}
+		return campos;
+	}
+
+	/*
+	 * Percorre a tabela inteira linha a linha, sem materializar a lista, para
+	 * a carga dos índices em memória.
+	 */
+	public void forEach(Consumer<ClientDTO> consumer) {
+		jdbc.getJdbcTemplate().query("SELECT " + COLUNAS + " FROM tb_client ORDER BY id",
+				(RowCallbackHandler) rs -> consumer.accept(mapRow(rs, 0)));
+	}
+
+	private Page<ClientDTO> findPage(String where, MapSqlParameterSource params, Pageable pageable) {
+		return findPage(COLUNAS, DTO_MAPPER, where, params, pageable);
+	}
+
+	private <T> Page<T> findPage(String colunas, RowMapper<T> mapper, String where, MapSqlParameterSource params,
+			Pageable pageable) {
+		String filtro = where == null ? "" : " WHERE " + where;
+		params.addValue("limit", pageable.getPageSize());
+		params.addValue("offset", pageable.getOffset());
+		List<T> content = jdbc.query("SELECT " + colunas + " FROM tb_client" + filtro
+				+ orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset", params, mapper);
+		Long total = jdbc.queryForObject("SELECT COUNT(*) FROM tb_client" + filtro, params, Long.class);
+		return new PageImpl<>(content, pageable, total == null ? 0 : total);
+	}
+
+	/*
+	 * Converte o Sort (propriedades da entidade) em ORDER BY com nomes de
+	 * coluna. Só propriedades conhecidas são aceitas, nunca texto do usuário.
+	 */
+	static String orderBy(Sort sort) {
+		if (sort.isUnsorted()) {
+			return "";
+		}
+		StringBuilder sql = new StringBuilder(" ORDER BY ");
+		boolean primeiro = true;
+		for (Sort.Order order : sort) {
+			if (!primeiro) {
+				sql.append(", ");
+			}
+			sql.append(coluna(order.getProperty())).append(order.isAscending() ? " ASC" : " DESC");
+			primeiro = false;
+		}
+		return sql.toString();
+	}
+
+	static String coluna(String propriedade) {
+		switch (propriedade) {
+		case "id":
+		case "name":
+		case "cpf":
+		case "children":
+			return propriedade;
+		case "income":
+			return "income_cents";
+		case "birthDate":
+			return "birth_date";
+		default:
+			throw new BadRequestException("Invalid orderBy: " + propriedade);
+		}
+	}
+
+	private static String colunas(List<String> campos) {
+		StringBuilder sql = new StringBuilder();
+		for (String campo : campos) {
+			if (sql.length() > 0) {
+				sql.append(", ");
+			}
+			sql.append(CAMPOS.get(campo));
+		}
+		return sql.toString();
+	}
+
+	private static RowMapper<Map<String, Object>> projecao(List<String> campos) {
+		return (rs, rowNum) -> {
+			Map<String, Object> linha = new LinkedHashMap<>();
+			for (String campo : campos) {
+				linha.put(campo, valor(rs, campo));
+			}
+			return linha;
+		};
+	}
+
+	/*
+	 * Mesmos tipos do ClientDTO, para o JSON da projeção sair igual ao completo.
+	 */
+	private static Object valor(ResultSet rs, String campo) throws SQLException {
+		switch (campo) {
+		case "id":
+		case "version":
+			return rs.getObject(campo, Long.class);
+		case "name":
+		case "cpf":
+			return rs.getString(campo);
+		case "income":
+			return renda(rs);
+		case "birthDate":
+			Timestamp birthDate = rs.getTimestamp("birth_date");
+			return birthDate == null ? null : birthDate.toInstant();
+		default:
+			return rs.getObject("children", Integer.class);
+		}
+	}
+
+	private static Double renda(ResultSet rs) throws SQLException {
+		Long centavos = rs.getObject("income_cents", Long.class);
+		return centavos == null ? null : centavos / 100.0;
+	}
+
+	private static ClientDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+		Timestamp birthDate = rs.getTimestamp("birth_date");
+		ClientDTO dto = new ClientDTO(
+				rs.getLong("id"),
+				rs.getString("name"),
+				rs.getString("cpf"),
+				renda(rs),
+				birthDate == null ? null : birthDate.toInstant(),
+				rs.getObject("children", Integer.class));
+		dto.setVersion(rs.getLong("version"));
+		return dto;
+	}
+}
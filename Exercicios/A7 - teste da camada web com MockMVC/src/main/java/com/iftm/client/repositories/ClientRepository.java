@@ -1,6 +1,7 @@
 package com.iftm.client.repositories;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +15,7 @@ import org.springframework.stereotype.Repository;
 import com.iftm.client.entities.Client;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientRepositoryCustom {
     @Modifying
 	@Query("DELETE FROM Client obj WHERE "
 			+ "obj.cpf = :cpf")
@@ -33,37 +34,103 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 			+ "LOWER(obj.name) = LOWER(:nome)")
 	Optional<Client> findClientByNomeIgnoreCase(String nome);
 
+	/*
+	 * Renda é gravada em centavos (income_cents): os parâmetros de renda
+	 * destas consultas também são centavos, ver Client.toCents/floorCents.
+	 */
 	@Query("SELECT DISTINCT obj FROM Client obj WHERE "
-			+ "obj.income >= :salario")
-	List<Client> findClientBySalarioAcima(double salario);
+			+ "obj.incomeCents >= :centavos")
+	List<Client> findClientBySalarioAcima(long centavos);
 
 	@Query("SELECT DISTINCT obj FROM Client obj WHERE "
-			+ "obj.income <= :salario")
-	List<Client> findClientBySalarioAbaixo(double salario);
+			+ "obj.incomeCents <= :centavos")
+	List<Client> findClientBySalarioAbaixo(long centavos);
 	
-	List<Client> findClientByIncomeBetween(double salarioMenor, double salarioMaior);
+	List<Client> findClientByIncomeCentsBetween(long centavosMenor, long centavosMaior);
 	
 	List<Client> findClientBybirthDateBetween(Instant DataInicio, Instant DataTermino);
 
 	List<Client> findClientByCpfLike(String cpfParcial);
 
 	List<Client> findClientByChildrenGreaterThanEqualOrderByNameAsc(int numeroFilhos);
+
+	Page<Client> findClientByChildrenGreaterThanEqual(int numeroFilhos, Pageable pageable);
+
+	Page<Client> findClientsByChildren(Integer children, Pageable pageable);
+
+	Page<Client> findByChildrenBetween(Integer minChildren, Integer maxChildren, Pageable pageable);
 	
 	//métodos desenvolvidos em sala
 	
-	void deleteByCpf(String cpfExistente);
+	/*
+	 * Removem em um único DELETE e devolvem quantas linhas saíram. Os deletes
+	 * derivados carregavam cada entidade e removiam uma a uma.
+	 */
+	@Modifying
+	@Query("DELETE FROM Client obj WHERE obj.cpf = :cpfExistente")
+	int deleteByCpf(String cpfExistente);
 
 	Optional<Client> findByCpf(String string);
 
-	void deleteByIncomeGreaterThan(double salarioI);
+	@Modifying
+	@Query("DELETE FROM Client obj WHERE obj.incomeCents > :centavos")
+	int deleteByIncomeCentsGreaterThan(long centavos);
+
+	@Modifying
+	@Query("DELETE FROM Client obj WHERE obj.id = :id")
+	int deleteClientById(Long id);
+
+	/* só os ids, lidos do índice de income_cents sem hidratar entidades */
+	@Query("SELECT obj.id FROM Client obj WHERE obj.incomeCents > :centavos")
+	List<Long> findIdsByIncomeCentsGreaterThan(long centavos, Pageable pageable);
 
-	List<Client> findByIncomeGreaterThan(double salarioI);
+	List<Client> findByIncomeCentsGreaterThan(long centavos);
 	
 	List<Client> findByCpfLike(String parteCpf);
 
-	Page<Client> findByIncome(Double income, Pageable pageable);
+	Page<Client> findByIncomeCents(long centavos, Pageable pageable);
 	
-	Page<Client> findByIncomeGreaterThan(double salarioI, Pageable pageable);
+	Page<Client> findByIncomeCentsGreaterThan(long centavos, Pageable pageable);
+
+	/* resto inteiro em centavos, sem o MOD em ponto flutuante */
+	@Query("SELECT obj FROM Client obj WHERE MOD(obj.incomeCents, :centavos) = 0")
+	Page<Client> findByIncomeCentsMultipleOf(long centavos, Pageable pageable);
 	Page<Client> findByCpfLike(String parteCpf, Pageable pageable);
 	Page<Client> findByCpfStartingWith(String parteCpf, Pageable pageable);
+
+	long countByIncomeCents(long centavos);
+
+	long countByIncomeCentsGreaterThan(long centavos);
+
+	long countByCpfLike(String parteCpf);
+
+	@Query("SELECT AVG(obj.incomeCents) FROM Client obj")
+	Double averageIncomeCents();
+
+	/*
+	 * Consultas por nascimento sem função sobre a coluna: idade e mês filtram
+	 * em birth_year/birth_month (indexadas) e o intervalo de datas compara
+	 * birth_date direto, então as três viram range scan no índice.
+	 */
+	Page<Client> findByBirthYearGreaterThan(int year, Pageable pageable);
+
+	Page<Client> findByBirthMonthIn(Collection<Integer> months, Pageable pageable);
+
+	Page<Client> findClientsByBirthDateBetween(Instant start, Instant end, Pageable pageable);
+
+	/* validador do ETag: só a versão, pela chave primária */
+	@Query("SELECT obj.version FROM Client obj WHERE obj.id = :id")
+	Optional<Long> findVersionById(Long id);
+
+	List<Client> findByCpfIn(Collection<String> cpfs);
+
+	@Query("SELECT obj FROM Client obj WHERE obj.cpf = :cpf ORDER BY obj.id")
+	List<Client> findClientsByCpf(String cpf);
+
+	@Query("SELECT obj.id FROM Client obj WHERE obj.cpf = :cpf")
+	List<Long> findIdsByCpf(String cpf);
+
+	@Modifying
+	@Query("DELETE FROM Client obj WHERE obj.id IN :ids AND obj.cpf = :cpf")
+	int deleteByIdInAndCpf(Collection<Long> ids, String cpf);
 }
@@ -0,0 +1,34 @@
+package com.iftm.client.repositories;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.iftm.client.dto.ClientFilterDTO;
+import com.iftm.client.entities.Client;
+
+public interface ClientRepositoryCustom {
+
+	/*
+	 * Busca uma "janela" de clientes sem disparar o SELECT COUNT(*) que o
+	 * findAll(Pageable) faz. Usado pela paginação por cursor (keyset).
+	 */
+	List<Client> findWindow(Specification<Client> spec, Sort sort, long offset, int limit);
+
+	/*
+	 * Percorre a tabela inteira em ordem de id com um cursor do JDBC
+	 * (fetchSize linhas por ida ao banco). Precisa de transação aberta e o
+	 * Stream deve ser fechado por quem chamou.
+	 */
+	Stream<Client> streamAll(int fetchSize);
+
+	/*
+	 * Todos os critérios presentes no filtro numa só consulta paginada. O
+	 * Sort usa atributos da entidade (ver ClientSpecifications.sort).
+	 */
+	Page<Client> findFiltered(ClientFilterDTO filtro, Pageable pageable);
+}
@@ -0,0 +1,200 @@
+package com.iftm.client.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.iftm.client.dto.ClientFilterDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.exceptions.BadRequestException;
+
+public class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+	/*
+	 * Bits da "forma" de um filtro: quais critérios estão presentes. Cada
+	 * forma compila para um WHERE fixo, guardado em formas; como o texto JPQL
+	 * de uma forma é sempre o mesmo, o Hibernate também reaproveita o plano
+	 * da consulta (query plan cache) em vez de reinterpretá-la.
+	 */
+	private static final int RENDA_MIN = 1;
+	private static final int RENDA_MAX = 1 << 1;
+	private static final int FILHOS_MIN = 1 << 2;
+	private static final int FILHOS_MAX = 1 << 3;
+	private static final int NASCIMENTO_INICIO = 1 << 4;
+	private static final int NASCIMENTO_FIM = 1 << 5;
+	private static final int NOME = 1 << 6;
+
+	private final ConcurrentMap<Integer, String> formas = new ConcurrentHashMap<>();
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Client> findWindow(Specification<Client> spec, Sort sort, long offset, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Client> query = cb.createQuery(Client.class);
+		Root<Client> root = query.from(Client.class);
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				query.where(predicate);
+			}
+		}
+		query.select(root).orderBy(ordens(sort, root, cb));
+		return entityManager.createQuery(query)
+				.setFirstResult((int) offset)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+	/*
+	 * Sort -> ORDER BY. A Criteria API não tem NULLS FIRST/LAST: quando o
+	 * Sort pede, entra antes do campo um "campo IS NULL" ordenado de forma que
+	 * os nulos fiquem no lado pedido.
+	 */
+	private static List<Order> ordens(Sort sort, Root<Client> root, CriteriaBuilder cb) {
+		List<Order> ordens = new ArrayList<>();
+		for (Sort.Order ordem : sort) {
+			if (ordem.getNullHandling() != Sort.NullHandling.NATIVE) {
+				Expression<Integer> nulo = cb.<Integer>selectCase()
+						.when(cb.isNull(root.get(ordem.getProperty())), 0).otherwise(1);
+				ordens.add(ordem.getNullHandling() == Sort.NullHandling.NULLS_FIRST ? cb.asc(nulo) : cb.desc(nulo));
+			}
+			ordens.addAll(QueryUtils.toOrders(Sort.by(ordem), root, cb));
+		}
+		return ordens;
+	}
+
+	@Override
+	public Stream<Client> streamAll(int fetchSize) {
+		return entityManager.createQuery("SELECT obj FROM Client obj ORDER BY obj.id", Client.class)
+				.setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+				.setHint(QueryHints.HINT_READONLY, true)
+				.getResultStream();
+	}
+
+	@Override
+	public Page<Client> findFiltered(ClientFilterDTO filtro, Pageable pageable) {
+		int forma = forma(filtro);
+		String where = formas.computeIfAbsent(forma, ClientRepositoryCustomImpl::compilar);
+		TypedQuery<Client> query = entityManager.createQuery(
+				"SELECT obj FROM Client obj" + where + orderBy(pageable.getSort()), Client.class);
+		parametros(query, forma, filtro);
+		List<Client> content = query
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList();
+		// o COUNT só roda quando a página não basta para saber o total
+		return PageableExecutionUtils.getPage(content, pageable, () -> {
+			TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(obj) FROM Client obj" + where, Long.class);
+			parametros(count, forma, filtro);
+			return count.getSingleResult();
+		});
+	}
+
+	private static int forma(ClientFilterDTO filtro) {
+		int forma = 0;
+		forma |= filtro.getIncomeMin() != null ? RENDA_MIN : 0;
+		forma |= filtro.getIncomeMax() != null ? RENDA_MAX : 0;
+		forma |= filtro.getChildrenMin() != null ? FILHOS_MIN : 0;
+		forma |= filtro.getChildrenMax() != null ? FILHOS_MAX : 0;
+		forma |= filtro.getBirthStart() != null ? NASCIMENTO_INICIO : 0;
+		forma |= filtro.getBirthEnd() != null ? NASCIMENTO_FIM : 0;
+		forma |= filtro.getName() != null && !filtro.getName().isEmpty() ? NOME : 0;
+		return forma;
+	}
+
+	private static String compilar(int forma) {
+		StringBuilder where = new StringBuilder();
+		condicao(where, forma, RENDA_MIN, "obj.incomeCents >= :rendaMin");
+		condicao(where, forma, RENDA_MAX, "obj.incomeCents <= :rendaMax");
+		condicao(where, forma, FILHOS_MIN, "obj.children >= :filhosMin");
+		condicao(where, forma, FILHOS_MAX, "obj.children <= :filhosMax");
+		condicao(where, forma, NASCIMENTO_INICIO, "obj.birthDate >= :nascimentoInicio");
+		condicao(where, forma, NASCIMENTO_FIM, "obj.birthDate <= :nascimentoFim");
+		condicao(where, forma, NOME, "LOWER(obj.name) LIKE :nome ESCAPE '\\'");
+		return where.toString();
+	}
+
+	private static void condicao(StringBuilder where, int forma, int bit, String jpql) {
+		if ((forma & bit) != 0) {
+			where.append(where.length() == 0 ? " WHERE " : " AND ").append(jpql);
+		}
+	}
+
+	private static void parametros(TypedQuery<?> query, int forma, ClientFilterDTO filtro) {
+		if ((forma & RENDA_MIN) != 0) {
+			query.setParameter("rendaMin", Client.ceilCents(filtro.getIncomeMin()));
+		}
+		if ((forma & RENDA_MAX) != 0) {
+			query.setParameter("rendaMax", Client.floorCents(filtro.getIncomeMax()));
+		}
+		if ((forma & FILHOS_MIN) != 0) {
+			query.setParameter("filhosMin", filtro.getChildrenMin());
+		}
+		if ((forma & FILHOS_MAX) != 0) {
+			query.setParameter("filhosMax", filtro.getChildrenMax());
+		}
+		if ((forma & NASCIMENTO_INICIO) != 0) {
+			query.setParameter("nascimentoInicio", filtro.getBirthStart());
+		}
+		if ((forma & NASCIMENTO_FIM) != 0) {
+			query.setParameter("nascimentoFim", filtro.getBirthEnd());
+		}
+		if ((forma & NOME) != 0) {
+			String nome = filtro.getName().toLowerCase(Locale.ROOT)
+					.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+			query.setParameter("nome", "%" + nome + "%");
+		}
+	}
+
+	/*
+	 * ORDER BY a partir do Sort, só com atributos conhecidos; o id entra por
+	 * último para a ordem ser estável entre páginas.
+	 */
+	private static String orderBy(Sort sort) {
+		StringBuilder sql = new StringBuilder(" ORDER BY ");
+		boolean porId = false;
+		for (Sort.Order order : sort) {
+			String atributo = order.getProperty();
+			switch (atributo) {
+			case "id":
+			case "name":
+			case "cpf":
+			case "incomeCents":
+			case "birthDate":
+			case "children":
+				break;
+			default:
+				throw new BadRequestException("Invalid orderBy: " + atributo);
+			}
+			porId |= "id".equals(atributo);
+			sql.append("obj.").append(atributo).append(order.isAscending() ? " ASC" : " DESC").append(", ");
+		}
+		if (porId) {
+			return sql.substring(0, sql.length() - 2);
+		}
+		return sql.append("obj.id ASC").toString();
+	}
+}
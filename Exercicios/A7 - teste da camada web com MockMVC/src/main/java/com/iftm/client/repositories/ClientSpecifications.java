@@ -0,0 +1,112 @@
+package com.iftm.client.repositories;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.iftm.client.entities.Client;
+
+/*
+ * Critérios reutilizáveis das listagens de clientes, combináveis com
+ * Specification.where(...).and(...).
+ */
+public final class ClientSpecifications {
+
+	private ClientSpecifications() {
+	}
+
+	public static Specification<Client> incomeEquals(Double income) {
+		return (root, query, cb) -> cb.equal(root.get("incomeCents"), Client.toCents(income));
+	}
+
+	public static Specification<Client> incomeGreaterThan(double income) {
+		return (root, query, cb) -> cb.greaterThan(root.<Long>get("incomeCents"), Client.floorCents(income));
+	}
+
+	public static Specification<Client> nameContainsIgnoreCase(String nome) {
+		return (root, query, cb) -> cb.like(cb.lower(root.<String>get("name")), "%" + nome.toLowerCase() + "%");
+	}
+
+	public static Specification<Client> cpfLike(String cpf) {
+		return (root, query, cb) -> cb.like(root.<String>get("cpf"), cpf);
+	}
+
+	public static Specification<Client> idIn(Collection<Long> ids) {
+		return (root, query, cb) -> root.get("id").in(ids);
+	}
+
+	public static Specification<Client> childrenGreaterThanEqual(int children) {
+		return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Integer>get("children"), children);
+	}
+
+	public static Specification<Client> childrenBetween(int min, int max) {
+		return (root, query, cb) -> cb.between(root.<Integer>get("children"), min, max);
+	}
+
+	public static Specification<Client> birthMonthIn(Collection<Integer> months) {
+		return (root, query, cb) -> root.get("birthMonth").in(months);
+	}
+
+	/*
+	 * Nome de ordenação da API -> atributo da entidade. Só a renda difere: a
+	 * API fala em "income" (reais) e a entidade guarda incomeCents.
+	 */
+	public static String atributo(String propriedade) {
+		return "income".equals(propriedade) ? "incomeCents" : propriedade;
+	}
+
+	public static Sort sort(Sort sort) {
+		return Sort.by(sort.stream().map(o -> o.withProperty(atributo(o.getProperty()))).collect(Collectors.toList()));
+	}
+
+	public static PageRequest pageRequest(PageRequest pageRequest) {
+		return PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize(), sort(pageRequest.getSort()));
+	}
+
+	/*
+	 * Ordenação do keyset: nulos contam como o menor valor, então vêm
+	 * primeiro em ASC e por último em DESC, declarado no Sort (o findWindow
+	 * traduz para ORDER BY explícito) em vez de depender do padrão do banco.
+	 */
+	public static Sort keysetSort(String orderBy, Direction direction) {
+		if ("id".equals(orderBy)) {
+			return Sort.by(direction, "id");
+		}
+		Sort.Order campo = new Sort.Order(direction, orderBy,
+				direction.isAscending() ? Sort.NullHandling.NULLS_FIRST : Sort.NullHandling.NULLS_LAST);
+		return Sort.by(campo, new Sort.Order(direction, "id"));
+	}
+
+	/*
+	 * Predicado do keyset: (campo, id) estritamente depois do último registro
+	 * da página anterior, na ordem de keysetSort. Vira um seek no índice em
+	 * vez de descartar "offset" linhas. "value" null quer dizer que o último
+	 * registro tinha o campo nulo; comparações com NULL no SQL são falsas, por
+	 * isso as linhas nulas entram por IS NULL.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static Specification<Client> after(String orderBy, Direction direction, Comparable value, Long id) {
+		return (root, query, cb) -> {
+			Path<Comparable> campo = root.get(orderBy);
+			Path<Long> idPath = root.get("id");
+			if (value == null) {
+				Predicate nulosDepois = cb.and(cb.isNull(campo),
+						direction.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id));
+				return direction.isAscending() ? cb.or(nulosDepois, cb.isNotNull(campo)) : nulosDepois;
+			}
+			if (direction.isAscending()) {
+				return cb.or(cb.greaterThan(campo, value),
+						cb.and(cb.equal(campo, value), cb.greaterThan(idPath, id)));
+			}
+			return cb.or(cb.lessThan(campo, value),
+					cb.and(cb.equal(campo, value), cb.lessThan(idPath, id)), cb.isNull(campo));
+		};
+	}
+}
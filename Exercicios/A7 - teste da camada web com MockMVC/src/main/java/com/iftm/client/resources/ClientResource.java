@@ -1,26 +1,65 @@
 package com.iftm.client.resources;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.security.InvalidParameterException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.iftm.client.dto.AnalyticsDTO;
+import com.iftm.client.dto.BatchInsertResultDTO;
+import com.iftm.client.dto.CacheStatsDTO;
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientFacetsDTO;
+import com.iftm.client.dto.ClientFilterDTO;
+import com.iftm.client.dto.ClientStatsDTO;
+import com.iftm.client.dto.CompactPageDTO;
+import com.iftm.client.dto.CursorPageDTO;
+import com.iftm.client.dto.DeleteResultDTO;
+import com.iftm.client.dto.FuzzyMatchDTO;
+import com.iftm.client.dto.ImportReportDTO;
+import com.iftm.client.dto.ListingParamsDTO;
+import com.iftm.client.dto.MultiGetDTO;
+import com.iftm.client.dto.ReadModelStatusDTO;
+import com.iftm.client.dto.SlicePageDTO;
+import com.iftm.client.services.ClientAnalyticsService;
+import com.iftm.client.services.ClientBatchService;
+import com.iftm.client.services.ClientCsvLoader;
+import com.iftm.client.services.ClientExportService;
 import com.iftm.client.services.ClientService;
+import com.iftm.client.services.cache.WriteGeneration;
+import com.iftm.client.services.exceptions.BadRequestException;
+import com.iftm.client.services.exceptions.PreconditionFailedException;
 
 @RestController
 @RequestMapping(value = "/clients")
@@ -28,41 +67,119 @@ public class ClientResource {
 	
 	@Autowired
 	private ClientService service;
+	
+	@Autowired
+	private ClientBatchService batchService;
+	
+	@Autowired
+	private ClientExportService exportService;
+	
+	@Autowired
+	private ClientCsvLoader csvLoader;
+	
+	@Autowired
+	private ClientAnalyticsService analyticsService;
+	
+	@Autowired
+	private WriteGeneration writeGeneration;
 
+	/*
+	 * Paginação, projeção e envelope das listagens vêm em ListingParamsDTO (ver
+	 * lá as combinações aceitas). O ETag da página é a geração de escritas: sem
+	 * escrita desde a última resposta, If-None-Match devolve 304 sem consultar
+	 * o banco. Leva também a sequência aplicada do modelo de leitura: no modo
+	 * async a geração sobe antes da réplica receber a escrita, e a página
+	 * servida nesse intervalo não pode ganhar o ETag novo.
+	 */
 	@GetMapping
-	public ResponseEntity<Page<ClientDTO>> findAll(
-			@RequestParam(value = "page", defaultValue = "0") Integer page,
-			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
-			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
-			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
-	{
-		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
-		Page<ClientDTO> list = service.findAllPaged(pageRequest);
-		return ResponseEntity.ok().body(list);
+	public ResponseEntity<?> findAll(ListingParamsDTO params, WebRequest webRequest) {
+		String etag = "\"" + writeGeneration.current() + "." + service.readModelSequence() + "\"";
+		if (webRequest.checkNotModified(etag)) {
+			// 304 já montado pelo checkNotModified
+			return null;
+		}
+		Object list = listar(params, service::findAllPaged, service::findAllPagedJdbc, service::findAllPagedFields,
+				p -> service.findAllKeyset(p.getCursor(), p.getLinesPerPage(), p.getOrderBy(), p.direction()),
+				service::findAllSlice);
+		return ResponseEntity.ok().eTag(etag).body(list);
 	}
 	
 	/*
 	 * Mudança: URI
 	 */
 	@GetMapping(value = "/id/{id}")
-	public ResponseEntity<ClientDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<ClientDTO> findById(@PathVariable Long id, WebRequest webRequest) {
+		// If-None-Match é conferido só com a versão (cache ou SELECT da versão)
+		if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+			Long versao = service.findVersionById(id);
+			if (versao != null && webRequest.checkNotModified(etag(id, versao))) {
+				return null;
+			}
+		}
 		ClientDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		return comEtag(dto).body(dto);
+	}
+	
+	/*
+	 * Exportação completa em NDJSON (padrão) ou CSV, escrita direto na
+	 * resposta. Com gzip=true a saída é comprimida.
+	 */
+	@GetMapping(value = "/export")
+	public void export(
+			@RequestParam(value = "format", defaultValue = ClientExportService.NDJSON) String format,
+			@RequestParam(value = "gzip", defaultValue = "false") Boolean gzip,
+			HttpServletResponse response) throws IOException
+	{
+		exportService.validarFormato(format);
+		response.setContentType(exportService.contentType(format));
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=clients." + format);
+		OutputStream out = response.getOutputStream();
+		if (gzip) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+			exportService.export(format, gzipOut);
+			gzipOut.finish();
+		} else {
+			exportService.export(format, out);
+		}
+		out.flush();
+	}
+	
+	/*
+	 * Contadores do cache do findById (acertos, faltas e descartes)
+	 */
+	@GetMapping(value = "/cache/stats")
+	public ResponseEntity<CacheStatsDTO> findByIdCacheStats() {
+		return ResponseEntity.ok().body(service.findByIdCacheStats());
+	}
+	
+	/*
+	 * Modelo de leitura em memória (client.readmodel.mode): estado e recarga
+	 * a partir do banco.
+	 */
+	@GetMapping(value = "/readmodel")
+	public ResponseEntity<ReadModelStatusDTO> readModelStatus() {
+		return ResponseEntity.ok().body(service.readModelStatus());
+	}
+	
+	@PostMapping(value = "/readmodel/rebuild")
+	public ResponseEntity<ReadModelStatusDTO> rebuildReadModel() {
+		return ResponseEntity.ok().body(service.rebuildReadModel());
 	}
 	
 	/* Mudança
 	 * Novo método: retorna uma lista paginada baseada no salário
 	 */
 	@GetMapping(value = "/income/")
-	public ResponseEntity<Page<ClientDTO>> findByIncome(
+	public ResponseEntity<?> findByIncome(
 			@RequestParam(value = "income", defaultValue = "0") Double income,
-			@RequestParam(value = "page", defaultValue = "0") Integer page,
-			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
-			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
-			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+			ListingParamsDTO params) 
 	{
-		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
-		Page<ClientDTO> list = service.findByIncome(pageRequest, income);
+		Object list = listar(params, pageRequest -> service.findByIncome(pageRequest, income),
+				pageRequest -> service.findByIncomeJdbc(pageRequest, income),
+				(pageRequest, fields) -> service.findByIncomeFields(pageRequest, income, fields),
+				p -> service.findByIncomeKeyset(income, p.getCursor(), p.getLinesPerPage(), p.getOrderBy(), p.direction()),
+				(pageRequest, withTotal) -> service.findByIncomeSlice(pageRequest, income, withTotal));
 		return ResponseEntity.ok().body(list);
 	}
 	
@@ -70,23 +187,114 @@ public class ClientResource {
 	 * Novo método: retorna uma lista paginada baseada no salário
 	 */
 	@GetMapping(value = "/incomeGreaterThan/")
-	public ResponseEntity<Page<ClientDTO>> findByIncomeGreaterThan(
+	public ResponseEntity<?> findByIncomeGreaterThan(
 			@RequestParam(value = "income", defaultValue = "0") Double income,
+			ListingParamsDTO params) 
+	{
+		Object list = listar(params, pageRequest -> service.findByIncomeGreaterThan(pageRequest, income),
+				pageRequest -> service.findByIncomeGreaterThanJdbc(pageRequest, income),
+				(pageRequest, fields) -> service.findByIncomeGreaterThanFields(pageRequest, income, fields),
+				p -> service.findByIncomeGreaterThanKeyset(income, p.getCursor(), p.getLinesPerPage(), p.getOrderBy(),
+						p.direction()),
+				(pageRequest, withTotal) -> service.findByIncomeGreaterThanSlice(pageRequest, income, withTotal));
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/incomeMultipleOf/")
+	public ResponseEntity<Page<ClientDTO>> findByIncomeMultipleOf(
+			@RequestParam(value = "value") Double value,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		Page<ClientDTO> list = service.findByIncomeMultipleOf(pageRequest, value);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/incomeAboveAverage/")
+	public ResponseEntity<Page<ClientDTO>> findByIncomeAboveAverage(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
 			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
 			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
 	{
 		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
-		Page<ClientDTO> list = service.findByIncomeGreaterThan(pageRequest, income);
+		Page<ClientDTO> list = service.findByIncomeAboveAverage(pageRequest);
 		return ResponseEntity.ok().body(list);
 	}
 	
+	@GetMapping(value = "/stats")
+	public ResponseEntity<ClientStatsDTO> stats() {
+		return ResponseEntity.ok().body(service.stats());
+	}
+	
+	@GetMapping(value = "/analytics")
+	public ResponseEntity<AnalyticsDTO> analytics(
+			@RequestParam(value = "incomeBuckets", defaultValue = "10") Integer incomeBuckets,
+			@RequestParam(value = "ageBucketYears", defaultValue = "10") Integer ageBucketYears) 
+	{
+		return ResponseEntity.ok().body(analyticsService.analyze(incomeBuckets, ageBucketYears));
+	}
+	
 	/* Mudança
 	 * Novo método: retorna uma lista paginada baseada no cpf com like
 	 */
 	@GetMapping(value = "/cpf/")
-	public ResponseEntity<Page<ClientDTO>> findByCPFLike(
+	public ResponseEntity<?> findByCPFLike(
+			@RequestParam(value = "cpf", defaultValue = "") String cpf,
+			ListingParamsDTO params) 
+	{
+		String like = "%" + cpf + "%";
+		Object list = listar(params, pageRequest -> service.findByCpfLike(pageRequest, like),
+				pageRequest -> service.findByCpfLikeJdbc(pageRequest, like),
+				(pageRequest, fields) -> service.findByCpfLikeFields(pageRequest, like, fields),
+				p -> service.findByCpfLikeKeyset(like, p.getCursor(), p.getLinesPerPage(), p.getOrderBy(), p.direction()),
+				(pageRequest, withTotal) -> service.findByCpfLikeSlice(pageRequest, like, withTotal));
+		return ResponseEntity.ok().body(list);
+	}
+	
+	/*
+	 * Multi-get: uma requisição no lugar de N chamadas a /id/{id} ou /byCpf.
+	 * A resposta segue a ordem pedida e lista em "missing" o que não existe.
+	 */
+	@GetMapping(value = "/ids")
+	public ResponseEntity<MultiGetDTO<Long>> findByIds(@RequestParam(value = "ids") List<Long> ids) {
+		return ResponseEntity.ok().body(service.findByIds(ids));
+	}
+	
+	@PostMapping(value = "/lookup")
+	public ResponseEntity<MultiGetDTO<String>> findByCpfs(@RequestBody List<String> cpfs) {
+		return ResponseEntity.ok().body(service.findByCpfs(cpfs));
+	}
+	
+	@GetMapping(value = "/byCpf")
+	public ResponseEntity<List<ClientDTO>> findByCpf(@RequestParam(value = "cpf") String cpf) {
+		List<ClientDTO> list = service.findByCpf(cpf);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/search")
+	public ResponseEntity<List<ClientDTO>> search(
+			@RequestParam(value = "q") String q,
+			@RequestParam(value = "k", defaultValue = "10") Integer k) 
+	{
+		List<ClientDTO> list = service.search(q, k);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/name/fuzzy")
+	public ResponseEntity<List<FuzzyMatchDTO>> findByNameFuzzy(
+			@RequestParam(value = "name") String name,
+			@RequestParam(value = "k", defaultValue = "10") Integer k) 
+	{
+		List<FuzzyMatchDTO> list = service.findByNameFuzzy(name, k);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/cpfStartingWith/")
+	public ResponseEntity<Page<ClientDTO>> findByCpfStartingWith(
 			@RequestParam(value = "cpf", defaultValue = "") String cpf,
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
@@ -94,18 +302,123 @@ public class ClientResource {
 			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
 	{
 		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
-		Page<ClientDTO> list = service.findByCpfLike(pageRequest, "%"+cpf+"%");
+		Page<ClientDTO> list = service.findByCpfStartingWith(pageRequest, cpf);
 		return ResponseEntity.ok().body(list);
 	}
-
+	
+	/*
+	 * Qualquer combinação dos critérios (todos opcionais) numa só consulta.
+	 */
+	@GetMapping(value = "/filter")
+	public ResponseEntity<Page<ClientDTO>> findFiltered(
+			@RequestParam(value = "incomeMin", required = false) Double incomeMin,
+			@RequestParam(value = "incomeMax", required = false) Double incomeMax,
+			@RequestParam(value = "childrenMin", required = false) Integer childrenMin,
+			@RequestParam(value = "childrenMax", required = false) Integer childrenMax,
+			@RequestParam(value = "birthStart", required = false) Instant birthStart,
+			@RequestParam(value = "birthEnd", required = false) Instant birthEnd,
+			@RequestParam(value = "name", required = false) String name,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		ClientFilterDTO filtro = new ClientFilterDTO(incomeMin, incomeMax, childrenMin, childrenMax,
+				birthStart, birthEnd, name);
+		Page<ClientDTO> list = service.findFiltered(filtro, pageRequest);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/ageLessThan/")
+	public ResponseEntity<Page<ClientDTO>> findByAgeLessThan(
+			@RequestParam(value = "age") Integer age,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		Page<ClientDTO> list = service.findByAgeLessThan(pageRequest, age);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/birthMonths/")
+	public ResponseEntity<Page<ClientDTO>> findByBirthDateInMonths(
+			@RequestParam(value = "months") List<Integer> months,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		Page<ClientDTO> list = service.findByBirthDateInMonths(pageRequest, months);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/children/")
+	public ResponseEntity<Page<ClientDTO>> findClientsByChildren(
+			@RequestParam(value = "children") Integer children,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		Page<ClientDTO> list = service.findClientsByChildren(pageRequest, children);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/childrenBetween/")
+	public ResponseEntity<Page<ClientDTO>> findByChildrenBetween(
+			@RequestParam(value = "min") Integer min,
+			@RequestParam(value = "max") Integer max,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		Page<ClientDTO> list = service.findByChildrenBetween(pageRequest, min, max);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	@GetMapping(value = "/facets")
+	public ResponseEntity<ClientFacetsDTO> facets(
+			@RequestParam(value = "childrenMin", required = false) Integer childrenMin,
+			@RequestParam(value = "childrenMax", required = false) Integer childrenMax,
+			@RequestParam(value = "months", required = false) List<Integer> months,
+			@RequestParam(value = "incomeBucket", required = false) String incomeBucket) 
+	{
+		return ResponseEntity.ok().body(service.facets(childrenMin, childrenMax, months, incomeBucket));
+	}
+	
+	@GetMapping(value = "/birthDateBetween/")
+	public ResponseEntity<Page<ClientDTO>> findByBirthDateBetween(
+			@RequestParam(value = "start") Instant start,
+			@RequestParam(value = "end") Instant end,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "birthDate") String orderBy) 
+	{
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		Page<ClientDTO> list = service.findByBirthDateBetween(pageRequest, start, end);
+		return ResponseEntity.ok().body(list);
+	}
+	
+	/*
+	 * Sempre por nome (desempate por id): orderBy e direction não se aplicam.
+	 */
 	@GetMapping(value = "/byChildren")
-    public ResponseEntity<Page<ClientDTO>> findClientByChildrenGreaterThanEqualOrderByNameAsc(
+    public ResponseEntity<?> findClientByChildrenGreaterThanEqualOrderByNameAsc(
             @RequestParam(value = "children", defaultValue = "0") Integer children,
-            @RequestParam(value = "page", defaultValue = "0") Integer page,
-            @RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage)
+            ListingParamsDTO params)
     {
-        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.ASC, "name");
-        Page<ClientDTO> list = service.findClientByChildrenGreaterThanEqualOrderByNameAsc(children, pageRequest);
+        Object list = listar(params,
+                pageRequest -> service.findClientByChildrenGreaterThanEqualOrderByNameAsc(children, pageRequest),
+                null, (pageRequest, fields) -> service.findClientByChildrenFields(children, pageRequest, fields),
+                p -> service.findClientByChildrenKeyset(children, p.getCursor(), p.getLinesPerPage()), null);
         return ResponseEntity.ok().body(list);
     }
 	
@@ -121,10 +434,59 @@ public class ClientResource {
 		}
 	}
 	
+	/*
+	 * Inserção em lote: devolve, para cada posição do array enviado, o id
+	 * gerado ou o erro encontrado.
+	 */
+	@PostMapping(value = "/batch")
+	public ResponseEntity<BatchInsertResultDTO> insertBatch(
+			@RequestBody List<ClientDTO> dtos,
+			@RequestParam(value = "chunkSize", required = false) Integer chunkSize) {
+		BatchInsertResultDTO result = batchService.insertBatch(dtos, chunkSize);
+		return ResponseEntity.ok().body(result);
+	}
+	
+	/*
+	 * Carga em massa: o corpo (text/csv) é lido em streaming. Devolve linhas
+	 * lidas, inseridas, rejeitadas e a vazão obtida.
+	 */
+	@PostMapping(value = "/import", consumes = "text/csv")
+	public ResponseEntity<ImportReportDTO> importCsv(HttpServletRequest request) throws IOException {
+		ImportReportDTO report = csvLoader.load(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+		return ResponseEntity.ok().body(report);
+	}
+	
+	/*
+	 * If-Match (ETag de um GET anterior) vira a versão esperada: o service
+	 * devolve 412 se o cliente mudou desde então.
+	 */
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<ClientDTO> update(@PathVariable Long id, @RequestBody ClientDTO dto) {
+	public ResponseEntity<ClientDTO> update(@PathVariable Long id, @RequestBody ClientDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		if (ifMatch != null) {
+			dto.setVersion(versaoDoIfMatch(id, ifMatch, dto.getVersion()));
+		}
 		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+		return comEtag(dto).body(dto);
+	}
+	
+	@PatchMapping(value = "/{id}")
+	public ResponseEntity<ClientDTO> patch(@PathVariable Long id, @RequestBody ClientDTO dto) {
+		dto = service.patch(id, dto);
+		return comEtag(dto).body(dto);
+	}
+	
+	@DeleteMapping(params = "cpf")
+	public ResponseEntity<DeleteResultDTO> deleteByCpf(@RequestParam(value = "cpf") String cpf) {
+		long removidos = service.deleteByCpf(cpf);
+		return ResponseEntity.ok().body(new DeleteResultDTO(removidos));
+	}
+	
+	@DeleteMapping(params = "incomeGreaterThan")
+	public ResponseEntity<DeleteResultDTO> deleteByIncomeGreaterThan(
+			@RequestParam(value = "incomeGreaterThan") Double income) {
+		long removidos = service.deleteByIncomeGreaterThan(income);
+		return ResponseEntity.ok().body(new DeleteResultDTO(removidos));
 	}
 	
 	@DeleteMapping(value = "/{id}")
@@ -132,4 +494,80 @@ public class ClientResource {
 		service.delete(id);
 		return ResponseEntity.noContent().build();
 	}
+	
+	/*
+	 * Resolve o modo pedido em ListingParamsDTO e chama a consulta dele,
+	 * embrulhando no envelope compacto se pedido. Consulta null = modo sem
+	 * suporte nesta listagem, respondido com 400.
+	 */
+	private static Object listar(ListingParamsDTO params, Function<PageRequest, Page<ClientDTO>> jpa,
+			Function<PageRequest, Page<ClientDTO>> jdbc,
+			BiFunction<PageRequest, String, Page<Map<String, Object>>> projecao,
+			Function<ListingParamsDTO, CursorPageDTO<ClientDTO>> cursor,
+			BiFunction<PageRequest, Boolean, SlicePageDTO<ClientDTO>> slice) {
+		switch (params.mode()) {
+		case CURSOR: {
+			CursorPageDTO<ClientDTO> list = cursor.apply(params);
+			return params.isCompact() ? CompactPageDTO.of(list) : list;
+		}
+		case SLICE: {
+			SlicePageDTO<ClientDTO> list = suportado(slice, "slice=true").apply(params.pageRequest(), params.isWithTotal());
+			return params.isCompact() ? CompactPageDTO.of(list) : list;
+		}
+		default: {
+			Page<?> list;
+			if (params.getFields() != null) {
+				list = suportado(projecao, "fields").apply(params.pageRequest(), params.getFields());
+			} else if (params.isJdbc()) {
+				list = suportado(jdbc, "reader=jdbc").apply(params.pageRequest());
+			} else {
+				list = jpa.apply(params.pageRequest());
+			}
+			return params.isCompact() ? CompactPageDTO.of(list) : list;
+		}
+		}
+	}
+	
+	private static <T> T suportado(T consulta, String parametro) {
+		if (consulta == null) {
+			throw new BadRequestException(parametro + " is not supported on this listing");
+		}
+		return consulta;
+	}
+	
+	/* ETag forte de um cliente: id e versão da linha */
+	private static String etag(Long id, Long versao) {
+		return "\"" + id + "-" + versao + "\"";
+	}
+	
+	private static ResponseEntity.BodyBuilder comEtag(ClientDTO dto) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if (dto != null && dto.getVersion() != null) {
+			builder.eTag(etag(dto.getId(), dto.getVersion()));
+		}
+		return builder;
+	}
+	
+	/*
+	 * "*" aceita qualquer versão. Senão, a versão vem da etiqueta deste id na
+	 * lista; etiqueta fraca (W/) ou de outro cliente nunca casa (comparação
+	 * forte), e a resposta é 412.
+	 */
+	private static Long versaoDoIfMatch(Long id, String ifMatch, Long versaoDoCorpo) {
+		if ("*".equals(ifMatch.trim())) {
+			return versaoDoCorpo;
+		}
+		String prefixo = "\"" + id + "-";
+		for (String etiqueta : ifMatch.split(",")) {
+			etiqueta = etiqueta.trim();
+			if (etiqueta.startsWith(prefixo) && etiqueta.endsWith("\"") && etiqueta.length() > prefixo.length() + 1) {
+				try {
+					return Long.valueOf(etiqueta.substring(prefixo.length(), etiqueta.length() - 1));
+				} catch (NumberFormatException e) {
+					break;
+				}
+			}
+		}
+		throw new PreconditionFailedException("If-Match does not match client " + id);
+	}
 }
\ No newline at end of file
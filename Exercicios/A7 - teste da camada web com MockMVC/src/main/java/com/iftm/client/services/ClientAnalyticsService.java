@@ -0,0 +1,186 @@
+package com.iftm.client.services;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.iftm.client.dto.AnalyticsDTO;
+import com.iftm.client.services.exceptions.BadRequestException;
+import com.iftm.client.services.exceptions.ServiceUnavailableException;
+import com.iftm.client.services.index.ClientIndexMaintainer;
+import com.iftm.client.services.index.ColumnarSnapshot;
+
+/*
+ * Percentis e histogramas de renda e idade sobre a cópia colunar de
+ * tb_client, sem carregar entidades. Os percentis saem de um
+ * Arrays.parallelSort das rendas; os histogramas, de um RecursiveTask que
+ * divide as linhas em blocos e soma as contagens parciais no fork-join pool.
+ *
+ * Clientes sem filhos informados ficam fora dos histogramas; sem renda,
+ * fora dos percentis e do histograma de renda; sem nascimento, fora do de
+ * idade. Idades acima de IDADE_MAXIMA caem no último intervalo.
+ */
+@Service
+public class ClientAnalyticsService {
+
+	private static final int IDADE_MAXIMA = 120;
+	private static final int BLOCO = 1 << 16;
+
+	@Autowired
+	private ColumnarSnapshot snapshot;
+
+	@Autowired
+	private ClientIndexMaintainer indexMaintainer;
+
+	public AnalyticsDTO analyze(int incomeBuckets, int ageBucketYears) {
+		if (incomeBuckets < 1 || incomeBuckets > 1000) {
+			throw new BadRequestException("incomeBuckets must be between 1 and 1000");
+		}
+		if (ageBucketYears < 1 || ageBucketYears > IDADE_MAXIMA) {
+			throw new BadRequestException("ageBucketYears must be between 1 and " + IDADE_MAXIMA);
+		}
+		if (!indexMaintainer.isWarm()) {
+			throw new ServiceUnavailableException("Analytics snapshot is loading");
+		}
+		long inicio = System.nanoTime();
+		ColumnarSnapshot.Columns colunas = snapshot.copy();
+
+		double[] rendas = Arrays.stream(colunas.getIncome()).filter(x -> !Double.isNaN(x)).toArray();
+		Arrays.parallelSort(rendas);
+
+		AnalyticsDTO dto = new AnalyticsDTO();
+		dto.setCount((long) colunas.size());
+		dto.setAgeBucketYears(ageBucketYears);
+		double min = 0;
+		double largura = 0;
+		if (rendas.length > 0) {
+			dto.setIncomeP50(percentil(rendas, 0.50));
+			dto.setIncomeP90(percentil(rendas, 0.90));
+			dto.setIncomeP99(percentil(rendas, 0.99));
+			min = rendas[0];
+			largura = (rendas[rendas.length - 1] - min) / incomeBuckets;
+		}
+		double[] limites = new double[incomeBuckets + 1];
+		for (int i = 0; i <= incomeBuckets; i++) {
+			limites[i] = min + largura * i;
+		}
+		dto.setIncomeBucketEdges(limites);
+
+		LocalDate hoje = LocalDate.now(ZoneOffset.UTC);
+		Histogramas parametros = new Histogramas(incomeBuckets, min, largura, ageBucketYears, hoje);
+		Histogramas resultado = ForkJoinPool.commonPool()
+				.invoke(new HistogramTask(colunas, 0, colunas.size(), parametros));
+		dto.setIncomeHistogramByChildren(resultado.renda);
+		dto.setAgeHistogramByChildren(resultado.idade);
+		dto.setElapsedMillis((System.nanoTime() - inicio) / 1_000_000);
+		return dto;
+	}
+
+	/*
+	 * Percentil pelo posto mais próximo sobre o array já ordenado.
+	 */
+	static double percentil(double[] ordenado, double p) {
+		int posicao = (int) Math.ceil(p * ordenado.length) - 1;
+		return ordenado[Math.max(0, Math.min(posicao, ordenado.length - 1))];
+	}
+
+	private static final class HistogramTask extends RecursiveTask<Histogramas> {
+		private static final long serialVersionUID = 1L;
+
+		private final ColumnarSnapshot.Columns colunas;
+		private final int de;
+		private final int ate;
+		private final Histogramas parametros;
+
+		private HistogramTask(ColumnarSnapshot.Columns colunas, int de, int ate, Histogramas parametros) {
+			this.colunas = colunas;
+			this.de = de;
+			this.ate = ate;
+			this.parametros = parametros;
+		}
+
+		@Override
+		protected Histogramas compute() {
+			if (ate - de <= BLOCO) {
+				Histogramas parcial = parametros.vazio();
+				for (int i = de; i < ate; i++) {
+					parcial.conta(colunas.getIncome()[i], colunas.getChildren()[i], colunas.getBirthEpoch()[i]);
+				}
+				return parcial;
+			}
+			int meio = (de + ate) >>> 1;
+			HistogramTask esquerda = new HistogramTask(colunas, de, meio, parametros);
+			esquerda.fork();
+			Histogramas direita = new HistogramTask(colunas, meio, ate, parametros).compute();
+			return esquerda.join().soma(direita);
+		}
+	}
+
+	private static final class Histogramas {
+		private final int faixasRenda;
+		private final double minRenda;
+		private final double larguraRenda;
+		private final int anosPorFaixa;
+		private final LocalDate hoje;
+		private final Map<Integer, long[]> renda = new TreeMap<>();
+		private final Map<Integer, long[]> idade = new TreeMap<>();
+
+		private Histogramas(int faixasRenda, double minRenda, double larguraRenda, int anosPorFaixa, LocalDate hoje) {
+			this.faixasRenda = faixasRenda;
+			this.minRenda = minRenda;
+			this.larguraRenda = larguraRenda;
+			this.anosPorFaixa = anosPorFaixa;
+			this.hoje = hoje;
+		}
+
+		private Histogramas vazio() {
+			return new Histogramas(faixasRenda, minRenda, larguraRenda, anosPorFaixa, hoje);
+		}
+
+		private void conta(double income, int children, long birthEpoch) {
+			if (children == ColumnarSnapshot.SEM_FILHOS_INFORMADOS) {
+				return;
+			}
+			if (!Double.isNaN(income)) {
+				int faixa = larguraRenda == 0 ? 0 : (int) ((income - minRenda) / larguraRenda);
+				renda.computeIfAbsent(children, k -> new long[faixasRenda])[Math.min(faixa, faixasRenda - 1)]++;
+			}
+			if (birthEpoch != ColumnarSnapshot.SEM_NASCIMENTO) {
+				int anos = Math.max(0, Math.min(idade(birthEpoch), IDADE_MAXIMA));
+				idade.computeIfAbsent(children, k -> new long[IDADE_MAXIMA / anosPorFaixa + 1])[anos / anosPorFaixa]++;
+			}
+		}
+
+		private int idade(long birthEpoch) {
+			LocalDate nascimento = LocalDate.ofEpochDay(Math.floorDiv(birthEpoch, 86400L));
+			int anos = hoje.getYear() - nascimento.getYear();
+			if (hoje.getMonthValue() < nascimento.getMonthValue() || (hoje.getMonthValue() == nascimento.getMonthValue()
+					&& hoje.getDayOfMonth() < nascimento.getDayOfMonth())) {
+				anos--;
+			}
+			return anos;
+		}
+
+		private Histogramas soma(Histogramas outro) {
+			somaEm(renda, outro.renda);
+			somaEm(idade, outro.idade);
+			return this;
+		}
+
+		private static void somaEm(Map<Integer, long[]> destino, Map<Integer, long[]> origem) {
+			origem.forEach((chave, contagens) -> destino.merge(chave, contagens, (a, b) -> {
+				for (int i = 0; i < a.length; i++) {
+					a[i] += b[i];
+				}
+				return a;
+			}));
+		}
+	}
+}
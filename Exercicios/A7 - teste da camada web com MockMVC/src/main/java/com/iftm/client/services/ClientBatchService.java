@@ -0,0 +1,135 @@
+package com.iftm.client.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iftm.client.dto.BatchInsertResultDTO;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.events.ClientChangedEvent;
+import com.iftm.client.services.exceptions.BadRequestException;
+import com.iftm.client.services.util.Validador;
+
+/*
+ * Inserção em lote: cada bloco de "chunkSize" clientes é gravado e commitado
+ * numa transação própria, com os INSERTs agrupados em lotes JDBC
+ * (hibernate.jdbc.batch_size) graças aos ids vindos da sequence.
+ */
+@Service
+public class ClientBatchService {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private Validador validador;
+
+	@Value("${client.batch.chunk-size:500}")
+	private int defaultChunkSize;
+
+	public BatchInsertResultDTO insertBatch(List<ClientDTO> dtos, Integer chunkSize) {
+		int tamanho = chunkSize == null ? defaultChunkSize : chunkSize;
+		if (tamanho < 1) {
+			throw new BadRequestException("chunkSize must be positive");
+		}
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		BatchInsertResultDTO result = new BatchInsertResultDTO();
+		for (int inicio = 0; inicio < dtos.size(); inicio += tamanho) {
+			int fim = Math.min(inicio + tamanho, dtos.size());
+			insertChunk(transaction, dtos, inicio, fim, result);
+		}
+		return result;
+	}
+
+	private void insertChunk(TransactionTemplate transaction, List<ClientDTO> dtos, int inicio, int fim,
+			BatchInsertResultDTO result) {
+		String[] erros = new String[fim - inicio];
+		List<ClientDTO> validos = new ArrayList<>();
+		for (int i = inicio; i < fim; i++) {
+			erros[i - inicio] = validar(dtos.get(i));
+			if (erros[i - inicio] == null) {
+				validos.add(dtos.get(i));
+			}
+		}
+		List<Long> ids;
+		try {
+			ids = transaction.execute(status -> persist(validos));
+		} catch (PersistenceException | DataAccessException | TransactionException e) {
+			// um item com problema derruba o bloco inteiro: refaz um a um para isolá-lo
+			ids = new ArrayList<>();
+			for (ClientDTO dto : validos) {
+				try {
+					ids.add(transaction.execute(status -> persist(Collections.singletonList(dto)).get(0)));
+				} catch (PersistenceException | DataAccessException | TransactionException ex) {
+					ids.add(null);
+				}
+			}
+		}
+		int proximo = 0;
+		for (int i = inicio; i < fim; i++) {
+			if (erros[i - inicio] != null) {
+				result.addError(i, erros[i - inicio]);
+				continue;
+			}
+			Long id = ids.get(proximo++);
+			if (id == null) {
+				result.addError(i, "Integrity violation");
+			} else {
+				result.addSuccess(i, id);
+			}
+		}
+	}
+
+	private List<Long> persist(List<ClientDTO> dtos) {
+		List<Long> ids = new ArrayList<>(dtos.size());
+		for (ClientDTO dto : dtos) {
+			Client entity = dto.toEntity();
+			entity.setId(null);
+			entityManager.persist(entity);
+			ids.add(entity.getId());
+			// só é entregue aos listeners se o bloco for commitado
+			eventPublisher.publishEvent(ClientChangedEvent.inserted(new ClientDTO(entity)));
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return ids;
+	}
+
+	private String validar(ClientDTO dto) {
+		if (dto == null) {
+			return "Empty item";
+		}
+		if (dto.getName() == null || dto.getName().trim().isEmpty()) {
+			return "Name is required";
+		}
+		if (dto.getCpf() == null || dto.getCpf().trim().isEmpty()) {
+			return "CPF is required";
+		}
+		try {
+			validador.rendaValida("income", dto.getIncome());
+		} catch (BadRequestException e) {
+			return e.getMessage();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,49 @@
+package com.iftm.client.services;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ImportReportDTO;
+
+/*
+ * Carga inicial opcional: com client.import.file apontando para um CSV, o
+ * arquivo é carregado na subida da aplicação (substitui INSERTs linha a linha
+ * em scripts SQL para volumes grandes).
+ */
+@Component
+public class ClientCsvImportRunner implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(ClientCsvImportRunner.class);
+
+	@Autowired
+	private ClientCsvLoader loader;
+
+	@Value("${client.import.file:}")
+	private String arquivo;
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		if (arquivo == null || arquivo.isEmpty()) {
+			return;
+		}
+		try (Reader reader = Files.newBufferedReader(Paths.get(arquivo), StandardCharsets.UTF_8)) {
+			ImportReportDTO report = loader.load(reader);
+			log.info("CSV import of {}: {} read, {} inserted, {} rejected in {} ms ({} rows/s)", arquivo,
+					report.getRead(), report.getInserted(), report.getRejected(), report.getElapsedMillis(),
+					String.format("%.0f", report.getRowsPerSecond()));
+			for (String rejeitada : report.getRejectedLines()) {
+				log.warn("CSV import rejected {}", rejeitada);
+			}
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.iftm.client.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iftm.client.dto.ImportReportDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.events.ClientChangedEvent;
+import com.iftm.client.services.exceptions.BadRequestException;
+import com.iftm.client.services.util.CsvLineParser;
+
+/*
+ * Carga em massa de tb_client a partir de CSV (colunas name, cpf, income,
+ * birth_date, children, em qualquer ordem, com cabeçalho).
+ *
+ * O arquivo é lido registro a registro (um campo entre aspas pode ter quebra
+ * de linha, como os que o export gera), cada registro é validado e os válidos
+ * são gravados com JdbcTemplate.batchUpdate, um bloco por transação. Os ids saem
+ * do mesmo gerador (sequence pooled) usado pelo Hibernate, então a carga pode
+ * rodar junto com os inserts da API sem colisão.
+ *
+ * Um bloco que falha no banco é desfeito inteiro e suas linhas entram no
+ * relatório como rejeitadas; os blocos seguintes continuam. Caches e índices
+ * recebem um único BULK_CHANGED no fim da carga.
+ */
+@Service
+public class ClientCsvLoader {
+
+	private static final String INSERT = "INSERT INTO tb_client (id, name, cpf, income_cents, birth_date, children, "
+			+ "birth_year, birth_month, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+	private static final String[] COLUNAS = { "name", "cpf", "income", "birth_date", "children" };
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${client.import.chunk-size:5000}")
+	private int chunkSize;
+
+	public ImportReportDTO load(Reader source) throws IOException {
+		long inicio = System.nanoTime();
+		ImportReportDTO report = new ImportReportDTO();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		BufferedReader reader = new BufferedReader(source);
+
+		String cabecalho = reader.readLine();
+		if (cabecalho == null) {
+			throw new BadRequestException("Empty CSV");
+		}
+		int[] posicoes = posicoes(CsvLineParser.parse(cabecalho.trim()));
+
+		List<Object[]> bloco = new ArrayList<>(chunkSize);
+		List<Long> linhasDoBloco = new ArrayList<>(chunkSize);
+		long numeroLinha = 1;
+		String linha;
+		try {
+			while ((linha = reader.readLine()) != null) {
+				numeroLinha++;
+				/* o relatório aponta a linha onde o registro começa */
+				long inicioRegistro = numeroLinha;
+				String continuacao;
+				while (CsvLineParser.aspasAbertas(linha) && (continuacao = reader.readLine()) != null) {
+					numeroLinha++;
+					linha = linha + '\n' + continuacao;
+				}
+				if (linha.trim().isEmpty()) {
+					continue;
+				}
+				report.addRead();
+				try {
+					bloco.add(parseLinha(linha, posicoes));
+					linhasDoBloco.add(inicioRegistro);
+				} catch (IllegalArgumentException | DateTimeParseException e) {
+					report.addRejected(inicioRegistro, e.getMessage());
+					continue;
+				}
+				if (bloco.size() == chunkSize) {
+					gravar(transaction, bloco, linhasDoBloco, report);
+				}
+			}
+			if (!bloco.isEmpty()) {
+				gravar(transaction, bloco, linhasDoBloco, report);
+			}
+		} finally {
+			// os caches e índices em memória não recebem um evento por linha
+			if (report.getInserted() > 0) {
+				eventPublisher.publishEvent(ClientChangedEvent.bulkChanged());
+			}
+		}
+		report.finish((System.nanoTime() - inicio) / 1_000_000L);
+		return report;
+	}
+
+	/*
+	 * Grava e esvazia o bloco. Se o banco recusar o lote, a transação do
+	 * bloco é desfeita e todas as suas linhas contam como rejeitadas.
+	 */
+	private void gravar(TransactionTemplate transaction, List<Object[]> bloco, List<Long> linhasDoBloco,
+			ImportReportDTO report) {
+		try {
+			report.addInserted(inserir(transaction, bloco));
+		} catch (DataAccessException e) {
+			String motivo = "chunk rolled back: " + e.getMostSpecificCause().getMessage();
+			for (Long numero : linhasDoBloco) {
+				report.addRejected(numero, motivo);
+			}
+		} finally {
+			bloco.clear();
+			linhasDoBloco.clear();
+		}
+	}
+
+	private int inserir(TransactionTemplate transaction, List<Object[]> bloco) {
+		return transaction.execute(status -> {
+			IdentifierGenerator gerador = entityManager.getEntityManagerFactory()
+					.unwrap(SessionFactoryImplementor.class).getMetamodel()
+					.entityPersister(Client.class).getIdentifierGenerator();
+			SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+			for (Object[] valores : bloco) {
+				valores[0] = gerador.generate(session, null);
+			}
+			jdbcTemplate.batchUpdate(INSERT, bloco);
+			return bloco.size();
+		});
+	}
+
+	private int[] posicoes(List<String> cabecalho) {
+		Map<String, Integer> indice = new HashMap<>();
+		for (int i = 0; i < cabecalho.size(); i++) {
+			indice.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		int[] posicoes = new int[COLUNAS.length];
+		for (int i = 0; i < COLUNAS.length; i++) {
+			Integer posicao = indice.get(COLUNAS[i]);
+			if (posicao == null) {
+				throw new BadRequestException("Missing CSV column: " + COLUNAS[i]);
+			}
+			posicoes[i] = posicao;
+		}
+		return posicoes;
+	}
+
+	/*
+	 * Devolve os valores na ordem do INSERT, com a posição 0 reservada ao id.
+	 */
+	private Object[] parseLinha(String linha, int[] posicoes) {
+		List<String> campos = CsvLineParser.parse(linha);
+		String name = campo(campos, posicoes[0]);
+		String cpf = campo(campos, posicoes[1]);
+		String income = campo(campos, posicoes[2]);
+		String birthDate = campo(campos, posicoes[3]);
+		String children = campo(campos, posicoes[4]);
+
+		if (name.isEmpty()) {
+			throw new IllegalArgumentException("name is required");
+		}
+		if (!cpf.matches("\\d{11}")) {
+			throw new IllegalArgumentException("cpf must have 11 digits");
+		}
+		double renda = Double.parseDouble(income);
+		if (renda < 0 || Double.isNaN(renda) || Double.isInfinite(renda)) {
+			throw new IllegalArgumentException("invalid income");
+		}
+		int filhos = Integer.parseInt(children);
+		if (filhos < 0) {
+			throw new IllegalArgumentException("invalid children");
+		}
+		Instant nascimento = birthDate.length() == 10
+				? LocalDate.parse(birthDate).atStartOfDay(ZoneOffset.UTC).toInstant()
+				: Instant.parse(birthDate);
+		/* o INSERT não passa pela entidade, então centavos, ano e mês saem daqui */
+		return new Object[] { null, name, cpf, Client.toCents(renda), Timestamp.from(nascimento), filhos,
+				Client.birthYearOf(nascimento), Client.birthMonthOf(nascimento) };
+	}
+
+	private String campo(List<String> campos, int posicao) {
+		if (posicao >= campos.size()) {
+			throw new IllegalArgumentException("missing columns");
+		}
+		return campos.get(posicao).trim();
+	}
+}
@@ -0,0 +1,114 @@
+package com.iftm.client.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.services.exceptions.BadRequestException;
+
+/*
+ * Exportação da tabela inteira escrevendo direto no OutputStream da resposta.
+ * As linhas chegam por um cursor JDBC e cada entidade é desanexada logo depois
+ * de escrita, então a memória não cresce com o tamanho da tabela.
+ */
+@Service
+public class ClientExportService {
+
+	public static final String NDJSON = "ndjson";
+	public static final String CSV = "csv";
+
+	private static final String CSV_HEADER = "id,name,cpf,income,birth_date,children";
+
+	@Autowired
+	private ClientRepository repository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${client.export.fetch-size:500}")
+	private int fetchSize;
+
+	public void validarFormato(String format) {
+		if (!NDJSON.equals(format) && !CSV.equals(format)) {
+			throw new BadRequestException("Invalid export format: " + format);
+		}
+	}
+
+	public String contentType(String format) {
+		return CSV.equals(format) ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8";
+	}
+
+	@Transactional(readOnly = true)
+	public long export(String format, OutputStream out) throws IOException {
+		validarFormato(format);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		ObjectWriter json = objectMapper.writerFor(ClientDTO.class);
+		long linhas = 0;
+		if (CSV.equals(format)) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+		try (Stream<Client> stream = repository.streamAll(fetchSize)) {
+			Iterator<Client> it = stream.iterator();
+			while (it.hasNext()) {
+				Client client = it.next();
+				if (CSV.equals(format)) {
+					writeCsv(writer, client);
+				} else {
+					writer.write(json.writeValueAsString(new ClientDTO(client)));
+				}
+				writer.write('\n');
+				entityManager.detach(client);
+				linhas++;
+			}
+		}
+		writer.flush();
+		return linhas;
+	}
+
+	private void writeCsv(Writer writer, Client client) throws IOException {
+		writer.write(String.valueOf(client.getId()));
+		writer.write(',');
+		writer.write(csv(client.getName()));
+		writer.write(',');
+		writer.write(csv(client.getCpf()));
+		writer.write(',');
+		writer.write(client.getIncomeCents() == null ? "" : Double.toString(client.getIncomeCents() / 100.0));
+		writer.write(',');
+		writer.write(client.getBirthDate() == null ? "" : client.getBirthDate().toString());
+		writer.write(',');
+		writer.write(client.getChildren() == null ? "" : client.getChildren().toString());
+	}
+
+	private String csv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+				&& valor.indexOf('\r') < 0) {
+			return valor;
+		}
+		return '"' + valor.replace("\"", "\"\"") + '"';
+	}
+}
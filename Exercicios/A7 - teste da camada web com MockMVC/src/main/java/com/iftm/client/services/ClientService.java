@@ -1,26 +1,70 @@
 package com.iftm.client.services;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.iftm.client.dto.CacheStatsDTO;
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientFacetsDTO;
+import com.iftm.client.dto.ClientFilterDTO;
+import com.iftm.client.dto.ClientStatsDTO;
+import com.iftm.client.dto.CursorPageDTO;
+import com.iftm.client.dto.FuzzyMatchDTO;
+import com.iftm.client.dto.MultiGetDTO;
+import com.iftm.client.dto.ReadModelStatusDTO;
+import com.iftm.client.dto.SlicePageDTO;
 import com.iftm.client.entities.Client;
+import com.iftm.client.repositories.ClientJdbcRepository;
 import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.repositories.ClientSpecifications;
+import com.iftm.client.services.cache.ClientCache;
+import com.iftm.client.services.cache.CountCache;
+import com.iftm.client.services.events.ClientChangedEvent;
+import com.iftm.client.services.exceptions.BadRequestException;
 import com.iftm.client.services.exceptions.DatabaseException;
+import com.iftm.client.services.exceptions.PreconditionFailedException;
 import com.iftm.client.services.exceptions.ResourceNotFoundException;
+import com.iftm.client.services.exceptions.ServiceUnavailableException;
+import com.iftm.client.services.index.ClientAggregates;
+import com.iftm.client.services.index.ClientBitmapIndex;
+import com.iftm.client.services.index.ClientIndexMaintainer;
+import com.iftm.client.services.index.CpfHashIndex;
+import com.iftm.client.services.index.CpfNgramIndex;
+import com.iftm.client.services.index.FuzzyNameIndex;
+import com.iftm.client.services.index.NameIndex;
+import com.iftm.client.services.index.RoaringBitmap;
+import com.iftm.client.services.readmodel.ClientReadModel;
+import com.iftm.client.services.util.CursorCodec;
+import com.iftm.client.services.util.KeysetCursor;
 import com.iftm.client.services.util.Validador;
 
 @Service
@@ -29,90 +73,882 @@ public class ClientService {
 	@Autowired
 	private ClientRepository repository;	
 	
+	@Autowired
+	private ClientJdbcRepository jdbcRepository;
+	
 	@Autowired
 	private Validador validador;
 	
+	@Autowired
+	private CursorCodec cursorCodec;
+	
+	@Autowired
+	private CountCache countCache;
+	
+	@Autowired
+	private ClientCache clientCache;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Autowired
+	private ClientIndexMaintainer indexMaintainer;
+	
+	@Autowired
+	private CpfNgramIndex cpfIndex;
+	
+	@Autowired
+	private CpfHashIndex cpfHashIndex;
+	
+	@Autowired
+	private NameIndex nameIndex;
+	
+	@Autowired
+	private FuzzyNameIndex fuzzyNameIndex;
+	
+	@Autowired
+	private ClientAggregates aggregates;
+	
+	@Autowired
+	private ClientBitmapIndex bitmapIndex;
+	
+	@Autowired
+	private ClientReadModel readModel;
+	
+	@Value("${client.index.max-ids:1000}")
+	private int maxIdsIndice;
+	
+	@Value("${client.delete.max-events:1000}")
+	private int maxEventosDelete;
+	
+	@Value("${client.multiget.max-keys:1000}")
+	private int maxChavesMultiGet;
+	
+	@Value("${client.multiget.chunk-size:500}")
+	private int blocoMultiGet;
+	
+	@Value("${client.fuzzy.min-similarity:0.3}")
+	private double similaridadeMinima;
+	
+	@Value("${client.fuzzy.max-candidates:5000}")
+	private int maxCandidatosFuzzy;
+	
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findAllPaged(PageRequest pageRequest) {
-		Page<Client> list =  repository.findAll(pageRequest);
+		Page<ClientDTO> memoria = readModel.findAll(pageRequest);
+		if (memoria != null) {
+			return memoria;
+		}
+		Page<Client> list = repository.findAll(ClientSpecifications.pageRequest(pageRequest));
 		return list.map(x -> new ClientDTO(x));
 	}
 	
-	@Transactional(readOnly = true)
+	/*
+	 * Sem @Transactional: num acerto do cache não há por que abrir transação.
+	 * O findById do repositório já roda na sua própria transação de leitura.
+	 */
 	public ClientDTO findById(Long id) {
+		ClientDTO dto = clientCache.get(id);
+		if (dto != null) {
+			return dto;
+		}
+		long geracao = clientCache.generation();
 		Optional<Client> obj = repository.findById(id);
 		Client entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-		return new ClientDTO(entity);
+		dto = new ClientDTO(entity);
+		clientCache.put(dto, geracao);
+		return dto;
+	}
+	
+	/*
+	 * Versão atual do cliente para conferir um ETag, sem carregar a linha:
+	 * vem do cache do findById ou de um SELECT só da versão. null se não existe.
+	 */
+	public Long findVersionById(Long id) {
+		ClientDTO dto = clientCache.get(id);
+		if (dto != null) {
+			return dto.getVersion();
+		}
+		return repository.findVersionById(id).orElse(null);
+	}
+	
+	public CacheStatsDTO findByIdCacheStats() {
+		return clientCache.stats();
+	}
+	
+	public ReadModelStatusDTO readModelStatus() {
+		return readModel.status();
+	}
+	
+	public long readModelSequence() {
+		return readModel.appliedSequence();
+	}
+	
+	public ReadModelStatusDTO rebuildReadModel() {
+		if (readModel.getMode() == ClientReadModel.Mode.OFF) {
+			throw new ServiceUnavailableException("Read model is disabled (client.readmodel.mode=off)");
+		}
+		return readModel.rebuild();
 	}
 	
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findByIncome(PageRequest pageRequest, Double income) {
-		Page<Client> list = repository.findByIncome(income, pageRequest);		
+		validador.rendaValida("income", income);
+		Page<ClientDTO> memoria = readModel.findByIncomeCents(Client.toCents(income), pageRequest);
+		if (memoria != null) {
+			return memoria;
+		}
+		Page<Client> list = repository.findByIncomeCents(Client.toCents(income),
+				ClientSpecifications.pageRequest(pageRequest));
 		return list.map(x -> new ClientDTO(x));
 	}
 
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findByIncomeGreaterThan(PageRequest pageRequest, double income) {
-		Page<Client> list = repository.findByIncomeGreaterThan(income, pageRequest);
+		validador.rendaValida("income", income);
+		Page<ClientDTO> memoria = readModel.findByIncomeCentsGreaterThan(Client.floorCents(income), pageRequest);
+		if (memoria != null) {
+			return memoria;
+		}
+		Page<Client> list = repository.findByIncomeCentsGreaterThan(Client.floorCents(income),
+				ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByIncomeMultipleOf(PageRequest pageRequest, double value) {
+		validador.rendaValida("value", value);
+		long centavos = Client.toCents(value);
+		if (centavos <= 0) {
+			throw new BadRequestException("value must be at least 0.01");
+		}
+		Page<Client> list = repository.findByIncomeCentsMultipleOf(centavos,
+				ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	/*
+	 * A média vem dos agregados em memória e entra na consulta como parâmetro,
+	 * no lugar do subselect AVG reexecutado a cada chamada.
+	 */
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByIncomeAboveAverage(PageRequest pageRequest) {
+		Double media;
+		if (indexMaintainer.isWarm()) {
+			media = aggregates.averageIncome();
+		} else {
+			Double mediaCentavos = repository.averageIncomeCents();
+			media = mediaCentavos == null ? null : mediaCentavos / 100.0;
+		}
+		if (media == null) {
+			return Page.empty(pageRequest);
+		}
+		Page<Client> list = repository.findByIncomeCentsGreaterThan(Client.floorCents(media),
+				ClientSpecifications.pageRequest(pageRequest));
 		return list.map(x -> new ClientDTO(x));
 	}
 	
+	public ClientStatsDTO stats() {
+		if (!indexMaintainer.isWarm()) {
+			throw new ServiceUnavailableException("Client aggregates are loading");
+		}
+		return aggregates.snapshot();
+	}
+	
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findByCpfLike(PageRequest pageRequest, String cpf) {
-		Page<Client> list = repository.findByCpfLike(cpf, pageRequest);
+		long[] ids = buscarCpfNoIndice(cpf);
+		if (ids != null) {
+			Page<ClientDTO> memoria = readModel.findByIds(ids, pageRequest);
+			return memoria != null ? memoria : pageByIds(ids, pageRequest);
+		}
+		Page<Client> list = repository.findByCpfLike(cpf, ClientSpecifications.pageRequest(pageRequest));
 		return list.map(x -> new ClientDTO(x));
 	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByCpfStartingWith(PageRequest pageRequest, String cpf) {
+		long[] ids = indexMaintainer.isWarm() ? cpfIndex.search(cpf, true, maxIdsIndice) : null;
+		if (ids != null) {
+			return pageByIds(ids, pageRequest);
+		}
+		Page<Client> list = repository.findByCpfStartingWith(cpf,
+				ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	/*
+	 * Filtro composto: renda, filhos, nascimento e nome combinados numa só
+	 * consulta, no lugar de uma chamada por critério cruzada no cliente.
+	 */
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findFiltered(ClientFilterDTO filtro, PageRequest pageRequest) {
+		validador.rendaValida("incomeMin", filtro.getIncomeMin());
+		validador.rendaValida("incomeMax", filtro.getIncomeMax());
+		faixaValida("income", filtro.getIncomeMin(), filtro.getIncomeMax());
+		faixaValida("children", filtro.getChildrenMin(), filtro.getChildrenMax());
+		faixaValida("birth", filtro.getBirthStart(), filtro.getBirthEnd());
+		/* empates na coluna pedida (duas rendas iguais) saem sempre na mesma ordem, pelo id */
+		PageRequest ordenado = ClientSpecifications.pageRequest(pageRequest);
+		if (ordenado.getSort().getOrderFor("id") == null) {
+			ordenado = PageRequest.of(ordenado.getPageNumber(), ordenado.getPageSize(), ordenado.getSort().and(Sort.by("id")));
+		}
+		Page<Client> list = repository.findFiltered(filtro, ordenado);
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	private <T extends Comparable<T>> void faixaValida(String campo, T min, T max) {
+		if (min != null && max != null && min.compareTo(max) > 0) {
+			throw new BadRequestException(campo + " range is empty: min is greater than max");
+		}
+	}
+	
+	/*
+	 * "YEAR(CURRENT_DATE) - YEAR(birthDate) < idade" reescrito como
+	 * birthYear > anoAtual - idade, que o índice de birth_year resolve.
+	 */
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByAgeLessThan(PageRequest pageRequest, int age) {
+		if (age < 0) {
+			throw new BadRequestException("age must not be negative");
+		}
+		int anoAtual = LocalDate.now(ZoneOffset.UTC).getYear();
+		Page<Client> list = repository.findByBirthYearGreaterThan(anoAtual - age,
+				ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByBirthDateInMonths(PageRequest pageRequest, List<Integer> months) {
+		mesesValidos(months);
+		if (indexMaintainer.isWarm()) {
+			return pageByBitmap(bitmapIndex.query(null, null, months, null), ClientSpecifications.birthMonthIn(months),
+					pageRequest);
+		}
+		Page<Client> list = repository.findByBirthMonthIn(months,
+				ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findClientsByChildren(PageRequest pageRequest, Integer children) {
+		if (indexMaintainer.isWarm()) {
+			return pageByBitmap(bitmapIndex.query(children, children, null, null),
+					ClientSpecifications.childrenBetween(children, children), pageRequest);
+		}
+		Page<Client> list = repository.findClientsByChildren(children, ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByChildrenBetween(PageRequest pageRequest, Integer min, Integer max) {
+		faixaValida("children", min, max);
+		if (indexMaintainer.isWarm()) {
+			return pageByBitmap(bitmapIndex.query(min, max, null, null), ClientSpecifications.childrenBetween(min, max),
+					pageRequest);
+		}
+		Page<Client> list = repository.findByChildrenBetween(min, max, ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	/*
+	 * Contagens por filhos, mês de nascimento e faixa de renda dentro do
+	 * filtro, tiradas só dos bitmaps.
+	 */
+	public ClientFacetsDTO facets(Integer childrenMin, Integer childrenMax, List<Integer> months, String incomeBucket) {
+		faixaValida("children", childrenMin, childrenMax);
+		if (months != null) {
+			mesesValidos(months);
+		}
+		if (!indexMaintainer.isWarm()) {
+			throw new ServiceUnavailableException("Client bitmap index is loading");
+		}
+		if (incomeBucket != null && !bitmapIndex.isIncomeBucket(incomeBucket)) {
+			throw new BadRequestException("Unknown income bucket: " + incomeBucket);
+		}
+		return bitmapIndex.facets(childrenMin, childrenMax, months, incomeBucket);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByBirthDateBetween(PageRequest pageRequest, Instant start, Instant end) {
+		if (start.isAfter(end)) {
+			throw new BadRequestException("start must not be after end");
+		}
+		Page<Client> list = repository.findClientsByBirthDateBetween(start, end,
+				ClientSpecifications.pageRequest(pageRequest));
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	/*
+	 * Só os padrões "%x%" (trecho) e "x%" (prefixo) sem outros curingas vão ao
+	 * índice de trigramas; o resto, ou um índice ainda frio, fica com o LIKE
+	 * do banco. null significa "consulte o banco".
+	 */
+	private long[] buscarCpfNoIndice(String padrao) {
+		if (padrao == null || !indexMaintainer.isWarm()) {
+			return null;
+		}
+		boolean trecho = padrao.length() >= 2 && padrao.startsWith("%") && padrao.endsWith("%");
+		String valor;
+		if (trecho) {
+			valor = padrao.substring(1, padrao.length() - 1);
+		} else if (padrao.endsWith("%")) {
+			valor = padrao.substring(0, padrao.length() - 1);
+		} else {
+			return null;
+		}
+		if (valor.indexOf('%') >= 0 || valor.indexOf('_') >= 0 || valor.indexOf('\\') >= 0) {
+			return null;
+		}
+		return cpfIndex.search(valor, !trecho, maxIdsIndice);
+	}
+	
+	private void mesesValidos(List<Integer> months) {
+		if (months == null || months.isEmpty()) {
+			throw new BadRequestException("months must not be empty");
+		}
+		for (Integer mes : months) {
+			if (mes == null || mes < 1 || mes > 12) {
+				throw new BadRequestException("months must be between 1 and 12");
+			}
+		}
+	}
+	
+	/*
+	 * Página a partir de um bitmap de ids. O total é a cardinalidade, sem
+	 * COUNT. Ordenando só por id, a página é um trecho do próprio bitmap e
+	 * o banco só busca essas linhas pela chave; com outra ordenação o banco
+	 * ordena e corta com o critério equivalente ("spec").
+	 */
+	private Page<ClientDTO> pageByBitmap(RoaringBitmap ids, Specification<Client> spec, PageRequest pageRequest) {
+		long total = ids.cardinality();
+		if (total == 0) {
+			return Page.empty(pageRequest);
+		}
+		Sort sort = pageRequest.getSort();
+		if (sort.stream().allMatch(o -> "id".equals(o.getProperty()))) {
+			boolean crescente = sort.isUnsorted() || sort.iterator().next().isAscending();
+			long[] trecho = ids.slice(pageRequest.getOffset(), pageRequest.getPageSize(), crescente);
+			Map<Long, Client> porId = new HashMap<>();
+			for (Client client : repository.findAllById(Arrays.stream(trecho).boxed().collect(Collectors.toList()))) {
+				porId.put(client.getId(), client);
+			}
+			List<ClientDTO> content = new ArrayList<>(trecho.length);
+			for (long id : trecho) {
+				Client client = porId.get(id);
+				if (client != null) {
+					content.add(new ClientDTO(client));
+				}
+			}
+			return new PageImpl<>(content, pageRequest, total);
+		}
+		List<Client> list = repository.findWindow(spec, ClientSpecifications.sort(sort), pageRequest.getOffset(),
+				pageRequest.getPageSize());
+		return new PageImpl<>(list, pageRequest, total).map(x -> new ClientDTO(x));
+	}
+	
+	/*
+	 * Página a partir dos ids vindos de um índice: o banco só ordena e corta
+	 * as linhas com id IN (...), e o total já é conhecido, sem COUNT.
+	 */
+	private Page<ClientDTO> pageByIds(long[] ids, PageRequest pageRequest) {
+		if (ids.length == 0) {
+			return Page.empty(pageRequest);
+		}
+		List<Long> lista = Arrays.stream(ids).boxed().collect(Collectors.toList());
+		List<Client> list = repository.findWindow(ClientSpecifications.idIn(lista), ClientSpecifications.sort(pageRequest.getSort()),
+				pageRequest.getOffset(), pageRequest.getPageSize());
+		return new PageImpl<>(list, pageRequest, ids.length).map(x -> new ClientDTO(x));
+	}
 
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findClientByChildrenGreaterThanEqualOrderByNameAsc(Integer numeroFilhos, PageRequest pageRequest) {
-		// Chama o método do repositório que retorna uma List<Client>
-		List<Client> lista = repository.findClientByChildrenGreaterThanEqualOrderByNameAsc(numeroFilhos);
-
-		// Calcula os índices de início e fim para a sublista da página atual
-        int start = (int) pageRequest.getOffset();
-        int end = Math.min((start + pageRequest.getPageSize()), lista.size());
-
-        List<Client> pageContent = new ArrayList<>();
-        if (start < lista.size()) {
-            pageContent = lista.subList(start, end);
-        }
-
-        // Mapeia os Clientes da sublista para ClientDTOs
-        List<ClientDTO> dtoList = pageContent.stream()
-                                             .map(ClientDTO::new)
-                                             .collect(Collectors.toList());
-
-        // Retorna uma PageImpl, que é uma implementação de Page, contendo a sublista
-        // e o total de elementos da lista original.
-        return new PageImpl<>(dtoList, pageRequest, lista.size());
+		// A paginação é feita no banco (LIMIT/OFFSET + COUNT), então a memória por requisição
+		// fica limitada ao tamanho da página.
+		PageRequest ordenado = porNome(pageRequest);
+		Page<ClientDTO> memoria = readModel.findByChildrenGreaterThanEqual(numeroFilhos, ordenado);
+		if (memoria != null) {
+			return memoria;
+		}
+		Page<Client> list = repository.findClientByChildrenGreaterThanEqual(numeroFilhos, ordenado);
+		return list.map(x -> new ClientDTO(x));
+	}
+	
+	/* O id desempata nomes iguais entre páginas. */
+	private static PageRequest porNome(PageRequest pageRequest) {
+		return PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize(),
+				Sort.by(Direction.ASC, "name").and(Sort.by(Direction.ASC, "id")));
+	}
+	
+	/*
+	 * Variantes das listagens pelo caminho JDBC (reader=jdbc): as linhas viram
+	 * ClientDTO direto do ResultSet, sem passar pelo contexto de persistência.
+	 */
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findAllPagedJdbc(PageRequest pageRequest) {
+		return jdbcRepository.findAll(pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByIncomeJdbc(PageRequest pageRequest, Double income) {
+		validador.rendaValida("income", income);
+		return jdbcRepository.findByIncome(income, pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByIncomeGreaterThanJdbc(PageRequest pageRequest, double income) {
+		validador.rendaValida("income", income);
+		return jdbcRepository.findByIncomeGreaterThan(income, pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<ClientDTO> findByCpfLikeJdbc(PageRequest pageRequest, String cpf) {
+		return jdbcRepository.findByCpfLike(cpf, pageRequest);
+	}
+	
+	/*
+	 * Projeções (fields=): mesmas listagens do reader=jdbc, lendo só as
+	 * colunas pedidas.
+	 */
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findAllPagedFields(PageRequest pageRequest, String fields) {
+		return jdbcRepository.findAll(ClientJdbcRepository.campos(fields), pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findByIncomeFields(PageRequest pageRequest, Double income, String fields) {
+		validador.rendaValida("income", income);
+		return jdbcRepository.findByIncome(income, ClientJdbcRepository.campos(fields), pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findByIncomeGreaterThanFields(PageRequest pageRequest, double income,
+			String fields) {
+		validador.rendaValida("income", income);
+		return jdbcRepository.findByIncomeGreaterThan(income, ClientJdbcRepository.campos(fields), pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findByCpfLikeFields(PageRequest pageRequest, String cpf, String fields) {
+		return jdbcRepository.findByCpfLike(cpf, ClientJdbcRepository.campos(fields), pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findClientByChildrenFields(Integer numeroFilhos, PageRequest pageRequest,
+			String fields) {
+		return jdbcRepository.findByChildrenGreaterThanEqual(numeroFilhos, ClientJdbcRepository.campos(fields),
+				porNome(pageRequest));
+	}
+	
+	/*
+	 * Paginação por cursor (keyset): cada página é um seek a partir do
+	 * último (orderBy, id) entregue, sem OFFSET e sem COUNT.
+	 */
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ClientDTO> findAllKeyset(String cursor, int size, String orderBy, Direction direction) {
+		return keysetPage(null, "", cursor, size, orderBy, direction);
+	}
+	
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ClientDTO> findByIncomeKeyset(Double income, String cursor, int size, String orderBy, Direction direction) {
+		validador.rendaValida("income", income);
+		return keysetPage(ClientSpecifications.incomeEquals(income), "income=" + income, cursor, size, orderBy, direction);
+	}
+	
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ClientDTO> findByIncomeGreaterThanKeyset(double income, String cursor, int size, String orderBy, Direction direction) {
+		validador.rendaValida("income", income);
+		return keysetPage(ClientSpecifications.incomeGreaterThan(income), "income>" + income, cursor, size, orderBy, direction);
+	}
+	
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ClientDTO> findByCpfLikeKeyset(String cpf, String cursor, int size, String orderBy, Direction direction) {
+		return keysetPage(ClientSpecifications.cpfLike(cpf), "cpf~" + cpf, cursor, size, orderBy, direction);
+	}
+	
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ClientDTO> findClientByChildrenKeyset(Integer numeroFilhos, String cursor, int size) {
+		return keysetPage(ClientSpecifications.childrenGreaterThanEqual(numeroFilhos), "children>=" + numeroFilhos, cursor, size,
+				"name", Direction.ASC);
+	}
+	
+	/*
+	 * "chaveFiltro" descreve o filtro aplicado e vai (como hash) no token: um
+	 * cursor de uma listagem não vale em outra.
+	 */
+	private CursorPageDTO<ClientDTO> keysetPage(Specification<Client> filtro, String chaveFiltro, String token, int size,
+			String orderBy, Direction direction) {
+		if (size < 1) {
+			throw new BadRequestException("linesPerPage must be positive");
+		}
+		KeysetCursor cursor = cursorCodec.decode(token, orderBy, direction, chaveFiltro);
+		String atributo = ClientSpecifications.atributo(orderBy);
+		Specification<Client> spec = Specification.where(filtro);
+		if (cursor != null) {
+			spec = spec.and(ClientSpecifications.after(atributo, direction, cursor.getValue(), cursor.getId()));
+		}
+		Sort sort = ClientSpecifications.keysetSort(atributo, direction);
+		// busca um registro a mais só para saber se existe próxima página
+		List<Client> list = repository.findWindow(spec, sort, 0, size + 1);
+		String next = null;
+		if (list.size() > size) {
+			list = list.subList(0, size);
+			next = cursorCodec.encode(list.get(size - 1), orderBy, direction, chaveFiltro);
+		}
+		List<ClientDTO> dtoList = list.stream().map(ClientDTO::new).collect(Collectors.toList());
+		return new CursorPageDTO<>(dtoList, size, next);
+	}
+	
+	/*
+	 * Modo slice: busca size + 1 linhas para saber se há próxima página, sem o
+	 * SELECT COUNT(*) do Page. Com withTotal, o total vem do CountCache e a
+	 * resposta indica se ele é exato ou estimado.
+	 */
+	@Transactional(readOnly = true)
+	public SlicePageDTO<ClientDTO> findAllSlice(PageRequest pageRequest, boolean withTotal) {
+		return slicePage(null, pageRequest, withTotal, CountCache.ALL, () -> repository.count());
+	}
+	
+	@Transactional(readOnly = true)
+	public SlicePageDTO<ClientDTO> findByIncomeSlice(PageRequest pageRequest, Double income, boolean withTotal) {
+		validador.rendaValida("income", income);
+		return slicePage(ClientSpecifications.incomeEquals(income), pageRequest, withTotal,
+				"income=" + income, () -> repository.countByIncomeCents(Client.toCents(income)));
+	}
+	
+	@Transactional(readOnly = true)
+	public SlicePageDTO<ClientDTO> findByIncomeGreaterThanSlice(PageRequest pageRequest, double income, boolean withTotal) {
+		validador.rendaValida("income", income);
+		return slicePage(ClientSpecifications.incomeGreaterThan(income), pageRequest, withTotal,
+				"incomeGreaterThan=" + income, () -> repository.countByIncomeCentsGreaterThan(Client.floorCents(income)));
+	}
+	
+	@Transactional(readOnly = true)
+	public SlicePageDTO<ClientDTO> findByCpfLikeSlice(PageRequest pageRequest, String cpf, boolean withTotal) {
+		return slicePage(ClientSpecifications.cpfLike(cpf), pageRequest, withTotal,
+				"cpfLike=" + cpf, () -> repository.countByCpfLike(cpf));
+	}
+	
+	private SlicePageDTO<ClientDTO> slicePage(Specification<Client> filtro, PageRequest pageRequest, boolean withTotal,
+			String countKey, Supplier<Long> counter) {
+		int size = pageRequest.getPageSize();
+		List<Client> list = repository.findWindow(filtro, ClientSpecifications.sort(pageRequest.getSort()), pageRequest.getOffset(),
+				size + 1);
+		boolean hasNext = list.size() > size;
+		if (hasNext) {
+			list = list.subList(0, size);
+		}
+		List<ClientDTO> dtoList = list.stream().map(ClientDTO::new).collect(Collectors.toList());
+		SlicePageDTO<ClientDTO> slice = new SlicePageDTO<>(dtoList, pageRequest.getPageNumber(), size, hasNext);
+		if (withTotal) {
+			CountCache.Total total = countCache.get(countKey, counter);
+			slice.setTotalElements(total.getValue());
+			slice.setTotalExact(total.isExact());
+		}
+		return slice;
+	}
+	
+	/*
+	 * Busca exata por cpf (pode haver mais de um cliente com o mesmo cpf).
+	 * Com o índice carregado, um cpf inexistente nem chega ao banco e os
+	 * existentes são lidos pela chave primária.
+	 */
+	@Transactional(readOnly = true)
+	public List<ClientDTO> findByCpf(String cpf) {
+		long[] ids = indexMaintainer.isWarm() ? cpfHashIndex.idsOf(cpf) : null;
+		if (ids != null) {
+			return findAllInOrder(ids);
+		}
+		List<Client> list = repository.findClientsByCpf(cpf);
+		return list.stream().map(ClientDTO::new).collect(Collectors.toList());
+	}
+	
+	/*
+	 * Remove todos os clientes com o cpf e devolve quantos foram removidos.
+	 * Os ids vêm do índice (ou de uma projeção só de ids) e o DELETE confere o
+	 * cpf de novo, então um índice atrasado nunca apaga a linha errada.
+	 */
+	@Transactional
+	public long deleteByCpf(String cpf) {
+		long[] ids = indexMaintainer.isWarm() ? cpfHashIndex.idsOf(cpf) : null;
+		List<Long> lista = ids != null ? Arrays.stream(ids).boxed().collect(Collectors.toList()) : repository.findIdsByCpf(cpf);
+		if (lista.isEmpty()) {
+			return 0;
+		}
+		int removidos = repository.deleteByIdInAndCpf(lista, cpf);
+		publicarRemocoes(lista, removidos);
+		return removidos;
+	}
+	
+	/*
+	 * Um único DELETE por faixa de renda, sem carregar entidades. Antes dele,
+	 * uma projeção só de ids (limitada a maxEventosDelete + 1) diz quem vai
+	 * sair, para caches e índices receberem um DELETED por id.
+	 */
+	@Transactional
+	public long deleteByIncomeGreaterThan(double income) {
+		validador.rendaValida("income", income);
+		long centavos = Client.floorCents(income);
+		List<Long> ids = repository.findIdsByIncomeCentsGreaterThan(centavos,
+				PageRequest.of(0, maxEventosDelete + 1));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		int removidos = repository.deleteByIncomeCentsGreaterThan(centavos);
+		publicarRemocoes(ids, removidos);
+		return removidos;
+	}
+	
+	/*
+	 * DELETED por id quando os ids conhecidos são exatamente os removidos;
+	 * senão (projeção cortada no limite ou linha que mudou no meio) quem
+	 * escuta recebe BULK_CHANGED e recarrega.
+	 */
+	private void publicarRemocoes(List<Long> ids, int removidos) {
+		if (removidos == ids.size() && removidos <= maxEventosDelete) {
+			ids.forEach(id -> eventPublisher.publishEvent(ClientChangedEvent.deleted(id)));
+		} else {
+			eventPublisher.publishEvent(ClientChangedEvent.bulkChanged());
+		}
+	}
+	
+	/*
+	 * Busca por nome sem acento e por prefixo, com os k mais relevantes
+	 * primeiro. Sem o índice carregado cai no LIKE do banco, ordenado por
+	 * nome e sem dobrar acentos.
+	 */
+	@Transactional(readOnly = true)
+	public List<ClientDTO> search(String q, int k) {
+		if (q == null || q.trim().isEmpty()) {
+			throw new BadRequestException("q must not be blank");
+		}
+		if (k < 1 || k > 100) {
+			throw new BadRequestException("k must be between 1 and 100");
+		}
+		if (!indexMaintainer.isWarm()) {
+			List<Client> list = repository.findWindow(ClientSpecifications.nameContainsIgnoreCase(q.trim()),
+					Sort.by(Direction.ASC, "name").and(Sort.by(Direction.ASC, "id")), 0, k);
+			return list.stream().map(ClientDTO::new).collect(Collectors.toList());
+		}
+		long[] ids = nameIndex.search(q, k);
+		return findAllInOrder(ids);
+	}
+	
+	/*
+	 * Busca aproximada por nome (erros de digitação), respondida só pela
+	 * memória. Sem o índice carregado não há como responder sem varrer o
+	 * banco, então a resposta é 503 até a carga terminar.
+	 */
+	public List<FuzzyMatchDTO> findByNameFuzzy(String name, int k) {
+		if (name == null || name.trim().isEmpty()) {
+			throw new BadRequestException("name must not be blank");
+		}
+		if (k < 1 || k > 100) {
+			throw new BadRequestException("k must be between 1 and 100");
+		}
+		if (!indexMaintainer.isWarm()) {
+			throw new ServiceUnavailableException("Name index is loading");
+		}
+		return fuzzyNameIndex.search(name, k, similaridadeMinima, maxCandidatosFuzzy);
+	}
+	
+	/*
+	 * Vários clientes por id numa só requisição: o que estiver no cache do
+	 * findById sai dali, o resto vem em blocos de IN pela chave primária.
+	 */
+	@Transactional(readOnly = true)
+	public MultiGetDTO<Long> findByIds(List<Long> ids) {
+		List<Long> chaves = chavesDistintas(ids);
+		Map<Long, ClientDTO> porId = new HashMap<>();
+		List<Long> foraDoCache = new ArrayList<>();
+		for (Long id : chaves) {
+			ClientDTO dto = clientCache.get(id);
+			if (dto != null) {
+				porId.put(id, dto);
+			} else {
+				foraDoCache.add(id);
+			}
+		}
+		for (List<Long> bloco : blocos(foraDoCache)) {
+			repository.findAllById(bloco).forEach(c -> porId.put(c.getId(), new ClientDTO(c)));
+		}
+		List<ClientDTO> encontrados = new ArrayList<>(porId.size());
+		List<Long> faltando = new ArrayList<>();
+		for (Long id : chaves) {
+			ClientDTO dto = porId.get(id);
+			if (dto != null) {
+				encontrados.add(dto);
+			} else {
+				faltando.add(id);
+			}
+		}
+		return new MultiGetDTO<>(encontrados, faltando);
+	}
+	
+	/*
+	 * Vários cpfs numa só requisição. Com o índice carregado os cpfs viram ids
+	 * (busca pela chave primária); sem ele, blocos de cpf IN (...). Cada cpf
+	 * pode trazer mais de um cliente, ordenados por id.
+	 */
+	@Transactional(readOnly = true)
+	public MultiGetDTO<String> findByCpfs(List<String> cpfs) {
+		List<String> chaves = chavesDistintas(cpfs);
+		Map<String, List<ClientDTO>> porCpf = new HashMap<>();
+		chaves.forEach(cpf -> porCpf.put(cpf, new ArrayList<>()));
+		Consumer<Client> agrupar = c -> {
+			List<ClientDTO> doCpf = porCpf.get(c.getCpf());
+			if (doCpf != null) {
+				doCpf.add(new ClientDTO(c));
+			}
+		};
+		if (indexMaintainer.isWarm()) {
+			List<Long> ids = new ArrayList<>();
+			for (String cpf : chaves) {
+				long[] doCpf = cpfHashIndex.idsOf(cpf);
+				if (doCpf != null) {
+					Arrays.stream(doCpf).forEach(ids::add);
+				}
+			}
+			for (List<Long> bloco : blocos(ids)) {
+				repository.findAllById(bloco).forEach(agrupar);
+			}
+		} else {
+			for (List<String> bloco : blocos(chaves)) {
+				repository.findByCpfIn(bloco).forEach(agrupar);
+			}
+		}
+		List<ClientDTO> encontrados = new ArrayList<>();
+		List<String> faltando = new ArrayList<>();
+		for (String cpf : chaves) {
+			List<ClientDTO> doCpf = porCpf.get(cpf);
+			if (doCpf.isEmpty()) {
+				faltando.add(cpf);
+			} else {
+				doCpf.sort(Comparator.comparing(ClientDTO::getId));
+				encontrados.addAll(doCpf);
+			}
+		}
+		return new MultiGetDTO<>(encontrados, faltando);
+	}
+	
+	/* sem repetição, na ordem do pedido, e dentro do limite de chaves */
+	private <K> List<K> chavesDistintas(List<K> chaves) {
+		if (chaves == null || chaves.isEmpty()) {
+			throw new BadRequestException("at least one key is required");
+		}
+		if (chaves.contains(null)) {
+			throw new BadRequestException("keys must not be null");
+		}
+		List<K> distintas = new ArrayList<>(new LinkedHashSet<>(chaves));
+		if (distintas.size() > maxChavesMultiGet) {
+			throw new BadRequestException("at most " + maxChavesMultiGet + " keys per request");
+		}
+		return distintas;
+	}
+	
+	/* fatia a lista para o IN (...) não passar de blocoMultiGet parâmetros */
+	private <K> List<List<K>> blocos(List<K> chaves) {
+		List<List<K>> blocos = new ArrayList<>();
+		for (int i = 0; i < chaves.size(); i += blocoMultiGet) {
+			blocos.add(chaves.subList(i, Math.min(i + blocoMultiGet, chaves.size())));
+		}
+		return blocos;
+	}
+	
+	/*
+	 * Carrega os ids pela chave primária mantendo a ordem recebida.
+	 */
+	private List<ClientDTO> findAllInOrder(long[] ids) {
+		if (ids.length == 0) {
+			return Collections.emptyList();
+		}
+		Map<Long, Client> porId = repository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+				.stream().collect(Collectors.toMap(Client::getId, Function.identity()));
+		return Arrays.stream(ids).mapToObj(porId::get).filter(x -> x != null).map(ClientDTO::new)
+				.collect(Collectors.toList());
 	}
 	
 	@Transactional
 	public ClientDTO insert(ClientDTO dto) {		
+		validador.rendaValida("income", dto.getIncome());
 		Client entity = dto.toEntity();
 		entity = repository.save(entity);
-		return new ClientDTO(entity);
+		ClientDTO inserido = new ClientDTO(entity);
+		eventPublisher.publishEvent(ClientChangedEvent.inserted(inserido));
+		return inserido;
 	}
 	
+	/*
+	 * Com version no corpo, só atualiza se ainda for a versão atual (412 se
+	 * não for). O flush acontece aqui para a resposta já sair com a versão
+	 * nova e um conflito concorrente aparecer como exceção deste método.
+	 */
 	@Transactional
 	public ClientDTO update(Long id, ClientDTO dto) {
 		try {
+			validador.rendaValida("income", dto.getIncome());
 			Client entity = repository.getOne(id);
+			verificarVersao(entity, dto.getVersion());
 			updateData(entity, dto);
-			entity = repository.save(entity);
-			return new ClientDTO(entity);
+			entity = repository.saveAndFlush(entity);
+			ClientDTO atualizado = new ClientDTO(entity);
+			eventPublisher.publishEvent(ClientChangedEvent.updated(atualizado));
+			return atualizado;
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		}
 	}
 	
+	/*
+	 * Atualização parcial: só os campos presentes (não nulos) no corpo mudam,
+	 * e com @DynamicUpdate o UPDATE leva só essas colunas.
+	 */
+	@Transactional
+	public ClientDTO patch(Long id, ClientDTO dto) {
+		validador.rendaValida("income", dto.getIncome());
+		Client entity = repository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Id not found " + id));
+		verificarVersao(entity, dto.getVersion());
+		if (dto.getName() != null) {
+			entity.setName(dto.getName());
+		}
+		if (dto.getCpf() != null) {
+			entity.setCpf(dto.getCpf());
+		}
+		if (dto.getIncome() != null) {
+			entity.setIncome(dto.getIncome());
+		}
+		if (dto.getBirthDate() != null) {
+			entity.setBirthDate(dto.getBirthDate());
+		}
+		if (dto.getChildren() != null) {
+			entity.setChildren(dto.getChildren());
+		}
+		entity = repository.saveAndFlush(entity);
+		ClientDTO atualizado = new ClientDTO(entity);
+		eventPublisher.publishEvent(ClientChangedEvent.updated(atualizado));
+		return atualizado;
+	}
+	
+	private void verificarVersao(Client entity, Long versaoEsperada) {
+		if (versaoEsperada != null && !versaoEsperada.equals(entity.getVersion())) {
+			throw new PreconditionFailedException("Client " + entity.getId() + " is at version " + entity.getVersion()
+					+ ", not " + versaoEsperada);
+		}
+	}
+	
+	/*
+	 * DELETE direto pelo id: o deleteById fazia um SELECT antes para achar a
+	 * entidade. Zero linhas removidas é o "não encontrado".
+	 */
+	@Transactional
 	public void delete(Long id) {
 		validador.eValido(id);
-		try {		
-			
-			repository.deleteById(id);
-		} catch (EmptyResultDataAccessException e) {
-			throw new ResourceNotFoundException("Id not found " + id);
+		try {
+			if (repository.deleteClientById(id) == 0) {
+				throw new ResourceNotFoundException("Id not found " + id);
+			}
+			eventPublisher.publishEvent(ClientChangedEvent.deleted(id));
 		} catch (DataIntegrityViolationException e) {
 			throw new DatabaseException("Integrity violation");
 		} 
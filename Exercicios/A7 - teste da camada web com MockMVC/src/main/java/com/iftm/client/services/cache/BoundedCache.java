@@ -0,0 +1,120 @@
+package com.iftm.client.services.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/*
+ * Cache em memória limitado por tamanho (LRU) e com expiração (TTL).
+ * Pensado para poucos milhares de entradas: um único lock é suficiente.
+ */
+public class BoundedCache<K, V> {
+
+	private static class Item<V> {
+		V value;
+		final long expiresAt;
+
+		Item(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final int maxSize;
+	private final long ttlNanos;
+	private final LinkedHashMap<K, Item<V>> map;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public BoundedCache(int maxSize, long ttlMillis) {
+		this.maxSize = maxSize;
+		this.ttlNanos = ttlMillis * 1_000_000L;
+		this.map = new LinkedHashMap<K, Item<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Item<V>> eldest) {
+				if (size() > BoundedCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		Item<V> entry = map.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		if (System.nanoTime() - entry.expiresAt > 0) {
+			map.remove(key);
+			evictions++;
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		map.put(key, new Item<>(value, System.nanoTime() + ttlNanos));
+	}
+
+	/*
+	 * Atualiza o valor só se a chave já estiver no cache (renovando o TTL).
+	 */
+	public synchronized void replace(K key, V value) {
+		if (map.containsKey(key)) {
+			put(key, value);
+		}
+	}
+
+	public synchronized void remove(K key) {
+		map.remove(key);
+	}
+
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/*
+	 * Entradas descartadas por falta de espaço (LRU) ou por TTL vencido.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/*
+	 * Recalcula o valor de todas as entradas sem renovar o TTL. Se a função
+	 * devolver null a entrada é descartada.
+	 */
+	public synchronized void updateAll(BiFunction<K, V, V> function) {
+		Iterator<Map.Entry<K, Item<V>>> it = map.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<K, Item<V>> e = it.next();
+			V novo = function.apply(e.getKey(), e.getValue().value);
+			if (novo == null) {
+				it.remove();
+			} else {
+				e.getValue().value = novo;
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.iftm.client.services.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.iftm.client.dto.CacheStatsDTO;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.services.events.ClientChangedEvent;
+
+/*
+ * Cache read-through do findById. Os ClientDTO guardados aqui são
+ * compartilhados entre requisições e não devem ser alterados por quem os lê.
+ *
+ * Cada update/delete/carga incrementa a geração de escrita. Quem lê do banco
+ * pega a geração antes do SELECT e só grava o resultado se ela não mudou:
+ * uma leitura feita antes do commit de outra transação não volta ao cache
+ * depois do evento dessa transação.
+ */
+@Component
+public class ClientCache {
+
+	private final boolean enabled;
+	private final BoundedCache<Long, ClientDTO> cache;
+	private long geracao;
+
+	public ClientCache(@Value("${client.cache.enabled:true}") boolean enabled,
+			@Value("${client.cache.max-size:10000}") int maxSize,
+			@Value("${client.cache.ttl-seconds:300}") long ttlSeconds) {
+		this.enabled = enabled;
+		this.cache = new BoundedCache<>(maxSize, ttlSeconds * 1000L);
+	}
+
+	public ClientDTO get(Long id) {
+		return enabled ? cache.get(id) : null;
+	}
+
+	/*
+	 * Geração de escrita atual, a ser tomada antes de ler do banco.
+	 */
+	public synchronized long generation() {
+		return geracao;
+	}
+
+	/*
+	 * Grava o que foi lido do banco só se nenhuma escrita aconteceu desde
+	 * generation(); caso contrário a leitura pode estar velha e é descartada.
+	 */
+	public synchronized void put(ClientDTO dto, long geracaoLida) {
+		if (enabled && geracaoLida == geracao) {
+			cache.put(dto.getId(), dto);
+		}
+	}
+
+	public synchronized void clear() {
+		geracao++;
+		cache.clear();
+	}
+
+	public CacheStatsDTO stats() {
+		return new CacheStatsDTO(enabled, cache.size(), cache.getHits(), cache.getMisses(), cache.getEvictions());
+	}
+
+	/*
+	 * Update já traz o estado novo, então a entrada é renovada; delete remove.
+	 * Inserts não entram no cache: só ids efetivamente lidos ocupam espaço.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onClientChanged(ClientChangedEvent event) {
+		switch (event.getType()) {
+		case UPDATED:
+			geracao++;
+			cache.replace(event.getId(), event.getClient());
+			break;
+		case DELETED:
+			geracao++;
+			cache.remove(event.getId());
+			break;
+		case BULK_CHANGED:
+			geracao++;
+			cache.clear();
+			break;
+		default:
+			break;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.iftm.client.services.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.iftm.client.services.events.ClientChangedEvent;
+
+/*
+ * Cache dos totais (SELECT COUNT) das listagens paginadas.
+ *
+ * O total sem filtro é ajustado exatamente a cada insert/delete. Os totais
+ * filtrados não têm como ser ajustados sem consultar o banco, então depois de
+ * uma escrita continuam sendo servidos, marcados como estimativa, até o TTL
+ * vencer e o COUNT ser refeito.
+ */
+@Component
+public class CountCache {
+
+	public static final String ALL = "all";
+
+	public static class Total {
+		private final long value;
+		private final boolean exact;
+
+		public Total(long value, boolean exact) {
+			this.value = value;
+			this.exact = exact;
+		}
+
+		public long getValue() {
+			return value;
+		}
+
+		public boolean isExact() {
+			return exact;
+		}
+	}
+
+	private final BoundedCache<String, Total> cache;
+	private long geracao;
+
+	public CountCache(@Value("${client.count-cache.max-size:1000}") int maxSize,
+			@Value("${client.count-cache.ttl-seconds:30}") long ttlSeconds) {
+		this.cache = new BoundedCache<>(maxSize, ttlSeconds * 1000L);
+	}
+
+	/*
+	 * Como no ClientCache: a geração é lida antes do COUNT e o resultado só
+	 * entra no cache se nenhuma escrita aconteceu nesse meio tempo. Sem isso
+	 * um COUNT anterior a um insert, gravado depois do evento do insert,
+	 * ficaria no cache como total exato.
+	 */
+	public Total get(String key, Supplier<Long> counter) {
+		Total total = cache.get(key);
+		if (total == null) {
+			long geracaoLida = generation();
+			total = new Total(counter.get(), true);
+			put(key, total, geracaoLida);
+		}
+		return total;
+	}
+
+	private synchronized long generation() {
+		return geracao;
+	}
+
+	private synchronized void put(String key, Total total, long geracaoLida) {
+		if (geracaoLida == geracao) {
+			cache.put(key, total);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onClientChanged(ClientChangedEvent event) {
+		geracao++;
+		if (event.getType() == ClientChangedEvent.Type.BULK_CHANGED) {
+			cache.clear();
+			return;
+		}
+		cache.updateAll((key, total) -> {
+			if (!ALL.equals(key)) {
+				return new Total(total.getValue(), false);
+			}
+			switch (event.getType()) {
+			case INSERTED:
+				return new Total(total.getValue() + 1, total.isExact());
+			case DELETED:
+				return new Total(total.getValue() - 1, total.isExact());
+			default:
+				return total;
+			}
+		});
+	}
+}
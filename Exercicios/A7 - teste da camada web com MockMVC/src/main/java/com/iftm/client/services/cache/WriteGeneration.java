@@ -0,0 +1,37 @@
+package com.iftm.client.services.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.iftm.client.services.events.ClientChangedEvent;
+
+/*
+ * Contador de escritas em tb_client, incrementado depois de cada commit. Serve
+ * de validador (ETag) das listagens: se nada foi escrito desde a resposta
+ * anterior, a página é a mesma e não precisa ser consultada de novo.
+ *
+ * O prefixo muda a cada subida da aplicação, para um ETag emitido antes de um
+ * restart (contador zerado) nunca coincidir com um novo.
+ */
+@Component
+public class WriteGeneration {
+
+	private final String prefixo = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong geracao = new AtomicLong();
+
+	/*
+	 * Lido antes da consulta: se uma escrita entrar no meio, o ETag fica mais
+	 * velho que o conteúdo e a próxima requisição refaz a busca (nunca o
+	 * contrário, um 304 para conteúdo desatualizado).
+	 */
+	public String current() {
+		return prefixo + "-" + geracao.get();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onClientChanged(ClientChangedEvent event) {
+		geracao.incrementAndGet();
+	}
+}
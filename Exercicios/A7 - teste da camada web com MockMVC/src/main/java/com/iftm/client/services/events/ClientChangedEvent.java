@@ -0,0 +1,60 @@
+package com.iftm.client.services.events;
+
+import com.iftm.client.dto.ClientDTO;
+
+/*
+ * Publicado pelo ClientService a cada escrita. Os caches e índices em memória
+ * escutam este evento (após o commit) para se manterem consistentes.
+ */
+public class ClientChangedEvent {
+
+	public enum Type {
+		INSERTED, UPDATED, DELETED,
+		/*
+		 * Muitas linhas mudaram de uma vez (carga em massa): quem escuta deve
+		 * descartar ou reconstruir o que tiver em memória.
+		 */
+		BULK_CHANGED
+	}
+
+	private final Type type;
+	private final Long id;
+	private final ClientDTO client;
+
+	public ClientChangedEvent(Type type, Long id, ClientDTO client) {
+		this.type = type;
+		this.id = id;
+		this.client = client;
+	}
+
+	public static ClientChangedEvent inserted(ClientDTO client) {
+		return new ClientChangedEvent(Type.INSERTED, client.getId(), client);
+	}
+
+	public static ClientChangedEvent updated(ClientDTO client) {
+		return new ClientChangedEvent(Type.UPDATED, client.getId(), client);
+	}
+
+	public static ClientChangedEvent deleted(Long id) {
+		return new ClientChangedEvent(Type.DELETED, id, null);
+	}
+
+	public static ClientChangedEvent bulkChanged() {
+		return new ClientChangedEvent(Type.BULK_CHANGED, null, null);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/*
+	 * Estado do cliente depois da escrita (null quando removido).
+	 */
+	public ClientDTO getClient() {
+		return client;
+	}
+}
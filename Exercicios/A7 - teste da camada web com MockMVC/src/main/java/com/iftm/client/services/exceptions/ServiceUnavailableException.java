@@ -0,0 +1,10 @@
+package com.iftm.client.services.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+	
+	public ServiceUnavailableException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.iftm.client.services.index;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientStatsDTO;
+
+/*
+ * Agregados de tb_client mantidos a cada evento, em vez de AVG/COUNT/MIN/MAX
+ * por consulta: total de clientes, contagem, soma, mínimo e máximo da renda
+ * e quantos clientes há por número de filhos.
+ *
+ * Para desfazer a contribuição antiga num update ou delete guardamos a renda
+ * e os filhos de cada id. A soma é BigDecimal para não acumular erro de
+ * arredondamento com somas e subtrações sucessivas, e min/max vêm de um
+ * multiconjunto ordenado (renda -> quantidade), que continua certo quando o
+ * cliente com a maior renda é removido. Rendas e filhos nulos ficam fora,
+ * como no AVG do SQL.
+ */
+@Component
+public class ClientAggregates implements ClientIndex {
+
+	private final Map<Long, Contribuicao> porId = new HashMap<>();
+	private final TreeMap<Double, Long> rendas = new TreeMap<>();
+	private final TreeMap<Integer, Long> porFilhos = new TreeMap<>();
+	private BigDecimal soma = BigDecimal.ZERO;
+	private long comRenda;
+
+	@Override
+	public synchronized void put(ClientDTO client) {
+		remove(client.getId());
+		Contribuicao nova = new Contribuicao(client.getIncome(), client.getChildren());
+		porId.put(client.getId(), nova);
+		if (nova.income != null) {
+			rendas.merge(nova.income, 1L, Long::sum);
+			soma = soma.add(BigDecimal.valueOf(nova.income));
+			comRenda++;
+		}
+		if (nova.children != null) {
+			porFilhos.merge(nova.children, 1L, Long::sum);
+		}
+	}
+
+	@Override
+	public synchronized void remove(Long id) {
+		Contribuicao antiga = porId.remove(id);
+		if (antiga == null) {
+			return;
+		}
+		if (antiga.income != null) {
+			decrementa(rendas, antiga.income);
+			soma = soma.subtract(BigDecimal.valueOf(antiga.income));
+			comRenda--;
+		}
+		if (antiga.children != null) {
+			decrementa(porFilhos, antiga.children);
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		porId.clear();
+		rendas.clear();
+		porFilhos.clear();
+		soma = BigDecimal.ZERO;
+		comRenda = 0;
+	}
+
+	/*
+	 * Média da renda, ou null se nenhum cliente tem renda.
+	 */
+	public synchronized Double averageIncome() {
+		return comRenda == 0 ? null : soma.divide(BigDecimal.valueOf(comRenda), MathContext.DECIMAL64).doubleValue();
+	}
+
+	public synchronized ClientStatsDTO snapshot() {
+		return new ClientStatsDTO((long) porId.size(), comRenda, soma, averageIncome(),
+				rendas.isEmpty() ? null : rendas.firstKey(), rendas.isEmpty() ? null : rendas.lastKey(),
+				new TreeMap<>(porFilhos));
+	}
+
+	private static <K> void decrementa(TreeMap<K, Long> contagem, K chave) {
+		contagem.computeIfPresent(chave, (k, n) -> n == 1 ? null : n - 1);
+	}
+
+	private static final class Contribuicao {
+		private final Double income;
+		private final Integer children;
+
+		private Contribuicao(Double income, Integer children) {
+			this.income = income;
+			this.children = children;
+		}
+	}
+}
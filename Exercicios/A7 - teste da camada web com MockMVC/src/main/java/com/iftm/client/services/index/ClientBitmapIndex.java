@@ -0,0 +1,238 @@
+package com.iftm.client.services.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientFacetsDTO;
+import com.iftm.client.entities.Client;
+
+/*
+ * Índice de bitmaps para atributos de poucos valores: um RoaringBitmap de
+ * ids por número de filhos, por mês de nascimento (UTC, como birth_month) e
+ * por faixa de renda. As faixas vêm de client.bitmap.income-buckets, limites
+ * em reais: "1000,2500" dá as faixas [0, 1000), [1000, 2500) e [2500, ...).
+ *
+ * Filtros como "filhos entre 1 e 3 e nascidos em março ou abril" viram OR
+ * dos bitmaps de cada valor seguido de AND entre os atributos, e as
+ * contagens por faceta saem de andCardinality, sem montar os conjuntos.
+ * Para desfazer a contribuição antiga num update ou delete guardamos os
+ * atributos de cada id, como em ClientAggregates.
+ */
+@Component
+public class ClientBitmapIndex implements ClientIndex {
+
+	@Value("${client.bitmap.income-buckets:1000,2500,5000,10000}")
+	private double[] limitesRenda;
+
+	private long[] limitesCentavos;
+	private String[] rotulos;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Atributos> porId = new HashMap<>();
+	private RoaringBitmap todos = new RoaringBitmap();
+	private final TreeMap<Integer, RoaringBitmap> porFilhos = new TreeMap<>();
+	private final RoaringBitmap[] porMes = new RoaringBitmap[13];
+	private RoaringBitmap[] porFaixa;
+
+	@PostConstruct
+	void init() {
+		double[] limites = limitesRenda.clone();
+		Arrays.sort(limites);
+		limitesCentavos = new long[limites.length];
+		rotulos = new String[limites.length + 1];
+		for (int i = 0; i < limites.length; i++) {
+			limitesCentavos[i] = Client.toCents(limites[i]);
+			rotulos[i] = (i == 0 ? "0" : formata(limites[i - 1])) + "-" + formata(limites[i]);
+		}
+		rotulos[limites.length] = (limites.length == 0 ? "0" : formata(limites[limites.length - 1])) + "+";
+		porFaixa = new RoaringBitmap[rotulos.length];
+		for (int i = 0; i < porFaixa.length; i++) {
+			porFaixa[i] = new RoaringBitmap();
+		}
+		for (int mes = 1; mes <= 12; mes++) {
+			porMes[mes] = new RoaringBitmap();
+		}
+	}
+
+	@Override
+	public void put(ClientDTO client) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(client.getId());
+			Atributos novos = new Atributos(client.getChildren(), Client.birthMonthOf(client.getBirthDate()),
+					client.getIncome() == null ? -1 : faixa(Client.toCents(client.getIncome())));
+			long id = client.getId();
+			porId.put(id, novos);
+			todos.add(id);
+			if (novos.filhos != null) {
+				porFilhos.computeIfAbsent(novos.filhos, k -> new RoaringBitmap()).add(id);
+			}
+			if (novos.mes != null) {
+				porMes[novos.mes].add(id);
+			}
+			if (novos.faixa >= 0) {
+				porFaixa[novos.faixa].add(id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeUnlocked(Long id) {
+		Atributos antigos = porId.remove(id);
+		if (antigos == null) {
+			return;
+		}
+		todos.remove(id);
+		if (antigos.filhos != null) {
+			RoaringBitmap ids = porFilhos.get(antigos.filhos);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				porFilhos.remove(antigos.filhos);
+			}
+		}
+		if (antigos.mes != null) {
+			porMes[antigos.mes].remove(id);
+		}
+		if (antigos.faixa >= 0) {
+			porFaixa[antigos.faixa].remove(id);
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			porId.clear();
+			porFilhos.clear();
+			todos = new RoaringBitmap();
+			for (int mes = 1; mes <= 12; mes++) {
+				porMes[mes] = new RoaringBitmap();
+			}
+			for (int i = 0; i < porFaixa.length; i++) {
+				porFaixa[i] = new RoaringBitmap();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Ids que atendem a todos os critérios informados (null = sem filtro
+	 * naquele atributo). O resultado é uma cópia: pode ser combinado ou
+	 * percorrido fora do lock.
+	 */
+	public RoaringBitmap query(Integer childrenMin, Integer childrenMax, Collection<Integer> months, String incomeBucket) {
+		lock.readLock().lock();
+		try {
+			return filtroUnlocked(childrenMin, childrenMax, months, incomeBucket);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Total e contagem por valor de cada atributo dentro do filtro.
+	 */
+	public ClientFacetsDTO facets(Integer childrenMin, Integer childrenMax, Collection<Integer> months,
+			String incomeBucket) {
+		lock.readLock().lock();
+		try {
+			RoaringBitmap filtro = filtroUnlocked(childrenMin, childrenMax, months, incomeBucket);
+			Map<Integer, Long> filhos = new TreeMap<>();
+			for (Map.Entry<Integer, RoaringBitmap> entry : porFilhos.entrySet()) {
+				adicionaContagem(filhos, entry.getKey(), filtro.andCardinality(entry.getValue()));
+			}
+			Map<Integer, Long> meses = new TreeMap<>();
+			for (int mes = 1; mes <= 12; mes++) {
+				adicionaContagem(meses, mes, filtro.andCardinality(porMes[mes]));
+			}
+			Map<String, Long> faixas = new LinkedHashMap<>();
+			for (int i = 0; i < porFaixa.length; i++) {
+				faixas.put(rotulos[i], filtro.andCardinality(porFaixa[i]));
+			}
+			return new ClientFacetsDTO(filtro.cardinality(), filhos, meses, faixas);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public boolean isIncomeBucket(String rotulo) {
+		return Arrays.asList(rotulos).contains(rotulo);
+	}
+
+	private RoaringBitmap filtroUnlocked(Integer childrenMin, Integer childrenMax, Collection<Integer> months,
+			String incomeBucket) {
+		RoaringBitmap filtro = todos;
+		if (childrenMin != null || childrenMax != null) {
+			int min = childrenMin == null ? Integer.MIN_VALUE : childrenMin;
+			int max = childrenMax == null ? Integer.MAX_VALUE : childrenMax;
+			RoaringBitmap filhos = min > max ? new RoaringBitmap()
+					: RoaringBitmap.or(porFilhos.subMap(min, true, max, true).values());
+			filtro = filtro.and(filhos);
+		}
+		if (months != null) {
+			RoaringBitmap meses = new RoaringBitmap();
+			for (Integer mes : months) {
+				if (mes != null && mes >= 1 && mes <= 12) {
+					meses = meses.or(porMes[mes]);
+				}
+			}
+			filtro = filtro.and(meses);
+		}
+		if (incomeBucket != null) {
+			int i = Arrays.asList(rotulos).indexOf(incomeBucket);
+			filtro = i < 0 ? new RoaringBitmap() : filtro.and(porFaixa[i]);
+		}
+		return filtro == todos ? todos.copy() : filtro;
+	}
+
+	private int faixa(long centavos) {
+		int i = Arrays.binarySearch(limitesCentavos, centavos);
+		return i >= 0 ? i + 1 : -i - 1;
+	}
+
+	private static void adicionaContagem(Map<Integer, Long> contagens, Integer valor, long quantidade) {
+		if (quantidade > 0) {
+			contagens.put(valor, quantidade);
+		}
+	}
+
+	private static String formata(double reais) {
+		return reais == Math.rint(reais) ? String.valueOf((long) reais) : String.valueOf(reais);
+	}
+
+	private static final class Atributos {
+		private final Integer filhos;
+		private final Integer mes;
+		private final int faixa;
+
+		private Atributos(Integer filhos, Integer mes, int faixa) {
+			this.filhos = filhos;
+			this.mes = mes;
+			this.faixa = faixa;
+		}
+	}
+}
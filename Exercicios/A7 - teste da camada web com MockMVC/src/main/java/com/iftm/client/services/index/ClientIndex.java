@@ -0,0 +1,21 @@
+package com.iftm.client.services.index;
+
+import com.iftm.client.dto.ClientDTO;
+
+/*
+ * Índice em memória derivado de tb_client. O ClientIndexMaintainer faz a
+ * carga inicial, aplica os ClientChangedEvent e reconstrói após cargas em
+ * lote; as implementações só precisam ser seguras para leituras concorrentes
+ * com essas escritas.
+ */
+public interface ClientIndex {
+
+	/*
+	 * Insere ou substitui o estado indexado do cliente (mesmo id).
+	 */
+	void put(ClientDTO client);
+
+	void remove(Long id);
+
+	void clear();
+}
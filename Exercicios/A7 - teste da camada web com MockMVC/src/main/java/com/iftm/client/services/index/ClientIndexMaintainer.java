@@ -0,0 +1,188 @@
+package com.iftm.client.services.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.repositories.ClientJdbcRepository;
+import com.iftm.client.services.events.ClientChangedEvent;
+
+/*
+ * Mantém os ClientIndex em sincronia com o banco. A carga roda numa thread
+ * própria ao subir a aplicação e depois de cada BULK_CHANGED (pedidos que
+ * chegam durante uma carga pendente são agrupados numa só). Enquanto isWarm()
+ * for false os serviços devem consultar o banco.
+ *
+ * A varredura do banco não segura o monitor: durante a carga os eventos só
+ * são anotados (o que prende a escrita apenas pelo tempo de um add) e são
+ * aplicados ao fim dela, em ordem. Um put só vale se a versão não for mais
+ * antiga que a já indexada, e um id removido não volta (ids vêm de sequence
+ * e não se repetem), então um evento que a varredura já viu, ou um UPDATE
+ * que chega atrasado depois do DELETE, não volta o estado.
+ */
+@Component
+public class ClientIndexMaintainer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ClientIndexMaintainer.class);
+
+	@Autowired
+	private List<ClientIndex> indexes;
+
+	@Autowired
+	private ClientJdbcRepository jdbcRepository;
+
+	@Value("${client.index.enabled:true}")
+	private boolean enabled;
+
+	private static final long SEM_VERSAO = -1L;
+	private static final long REMOVIDO = Long.MAX_VALUE;
+
+	private final Object lock = new Object();
+	// id -> versão indexada, ou REMOVIDO
+	private final LongLongHashMap versoes = new LongLongHashMap();
+	// eventos que chegaram durante a carga em andamento; null fora dela
+	private List<ClientChangedEvent> durante;
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "client-index-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private volatile boolean warm;
+
+	public boolean isWarm() {
+		return warm;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		scheduleRebuild();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onClientChanged(ClientChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		if (event.getType() == ClientChangedEvent.Type.BULK_CHANGED) {
+			warm = false;
+			scheduleRebuild();
+			return;
+		}
+		synchronized (lock) {
+			if (durante != null) {
+				durante.add(event);
+			} else {
+				aplicar(event);
+			}
+		}
+	}
+
+	public void scheduleRebuild() {
+		if (enabled && rebuildPending.compareAndSet(false, true)) {
+			executor.execute(this::carregar);
+		}
+	}
+
+	/*
+	 * Recarrega e só retorna ao terminar. Passa pela mesma thread das cargas
+	 * agendadas, então uma carga já em andamento (a da subida, por exemplo)
+	 * termina antes e não derruba o isWarm() desta.
+	 */
+	public void rebuild() {
+		try {
+			executor.submit(this::carregar).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOG.error("Falha ao recarregar os índices de clientes", e.getCause());
+		}
+	}
+
+	private void carregar() {
+		rebuildPending.set(false);
+		long inicio = System.nanoTime();
+		long[] linhas = new long[1];
+		warm = false;
+		synchronized (lock) {
+			durante = new ArrayList<>();
+		}
+		try {
+			indexes.forEach(ClientIndex::clear);
+			versoes.clear();
+			jdbcRepository.forEach(client -> {
+				put(client);
+				linhas[0]++;
+			});
+			for (List<ClientChangedEvent> eventos = anotados(); eventos != null; eventos = anotados()) {
+				eventos.forEach(this::aplicar);
+			}
+		} catch (RuntimeException e) {
+			synchronized (lock) {
+				durante = null;
+			}
+			LOG.error("Falha ao carregar os índices de clientes", e);
+			return;
+		}
+		LOG.info("Índices de clientes carregados: {} linhas em {} ms", linhas[0],
+				(System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	/*
+	 * Eventos anotados desde a última chamada. Quando não há mais nenhum,
+	 * encerra a carga (sob o monitor, então nenhum evento fica para trás) e
+	 * devolve null.
+	 */
+	private List<ClientChangedEvent> anotados() {
+		synchronized (lock) {
+			if (durante.isEmpty()) {
+				durante = null;
+				warm = !rebuildPending.get();
+				return null;
+			}
+			List<ClientChangedEvent> eventos = durante;
+			durante = new ArrayList<>();
+			return eventos;
+		}
+	}
+
+	private void aplicar(ClientChangedEvent event) {
+		if (event.getType() == ClientChangedEvent.Type.DELETED) {
+			versoes.put(event.getId(), REMOVIDO);
+			indexes.forEach(index -> index.remove(event.getId()));
+		} else {
+			put(event.getClient());
+		}
+	}
+
+	private void put(ClientDTO client) {
+		long atual = versoes.get(client.getId(), SEM_VERSAO);
+		long nova = client.getVersion() == null ? SEM_VERSAO : client.getVersion();
+		if (atual == REMOVIDO || nova < atual) {
+			return;
+		}
+		versoes.put(client.getId(), nova);
+		indexes.forEach(index -> index.put(client));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
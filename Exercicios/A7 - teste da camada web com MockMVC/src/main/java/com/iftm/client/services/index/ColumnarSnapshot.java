@@ -0,0 +1,149 @@
+package com.iftm.client.services.index;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+
+/*
+ * Cópia colunar de tb_client só com o que as análises usam: renda, filhos e
+ * nascimento (segundos desde a epoch), um array primitivo por coluna. Nulos
+ * viram NaN, Integer.MIN_VALUE e Long.MIN_VALUE. Cada evento altera só a
+ * linha do cliente; um delete move a última linha para o buraco, então as
+ * colunas continuam densas.
+ */
+@Component
+public class ColumnarSnapshot implements ClientIndex {
+
+	public static final int SEM_FILHOS_INFORMADOS = Integer.MIN_VALUE;
+	public static final long SEM_NASCIMENTO = Long.MIN_VALUE;
+
+	private static final int CAPACIDADE_INICIAL = 1024;
+
+	private long[] ids;
+	private double[] income;
+	private int[] children;
+	private long[] birthEpoch;
+	private int size;
+
+	private final LongLongHashMap rowById = new LongLongHashMap();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public ColumnarSnapshot() {
+		allocate(CAPACIDADE_INICIAL);
+	}
+
+	@Override
+	public void put(ClientDTO client) {
+		lock.writeLock().lock();
+		try {
+			int row = (int) rowById.get(client.getId(), -1);
+			if (row < 0) {
+				if (size == ids.length) {
+					grow();
+				}
+				row = size++;
+				ids[row] = client.getId();
+				rowById.put(client.getId(), row);
+			}
+			income[row] = client.getIncome() == null ? Double.NaN : client.getIncome();
+			children[row] = client.getChildren() == null ? SEM_FILHOS_INFORMADOS : client.getChildren();
+			birthEpoch[row] = client.getBirthDate() == null ? SEM_NASCIMENTO : client.getBirthDate().getEpochSecond();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			int row = (int) rowById.remove(id, -1);
+			if (row < 0) {
+				return;
+			}
+			int last = --size;
+			if (row != last) {
+				ids[row] = ids[last];
+				income[row] = income[last];
+				children[row] = children[last];
+				birthEpoch[row] = birthEpoch[last];
+				rowById.put(ids[row], row);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			allocate(CAPACIDADE_INICIAL);
+			size = 0;
+			rowById.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Cópia consistente das colunas: as análises rodam sobre ela sem segurar
+	 * o lock enquanto os eventos continuam chegando.
+	 */
+	public Columns copy() {
+		lock.readLock().lock();
+		try {
+			return new Columns(Arrays.copyOf(income, size), Arrays.copyOf(children, size),
+					Arrays.copyOf(birthEpoch, size));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void allocate(int capacidade) {
+		ids = new long[capacidade];
+		income = new double[capacidade];
+		children = new int[capacidade];
+		birthEpoch = new long[capacidade];
+	}
+
+	private void grow() {
+		int capacidade = ids.length * 2;
+		ids = Arrays.copyOf(ids, capacidade);
+		income = Arrays.copyOf(income, capacidade);
+		children = Arrays.copyOf(children, capacidade);
+		birthEpoch = Arrays.copyOf(birthEpoch, capacidade);
+	}
+
+	public static final class Columns {
+		private final double[] income;
+		private final int[] children;
+		private final long[] birthEpoch;
+
+		private Columns(double[] income, int[] children, long[] birthEpoch) {
+			this.income = income;
+			this.children = children;
+			this.birthEpoch = birthEpoch;
+		}
+
+		public int size() {
+			return income.length;
+		}
+
+		public double[] getIncome() {
+			return income;
+		}
+
+		public int[] getChildren() {
+			return children;
+		}
+
+		public long[] getBirthEpoch() {
+			return birthEpoch;
+		}
+	}
+}
@@ -0,0 +1,275 @@
+package com.iftm.client.services.index;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+
+/*
+ * Índice exato cpf -> ids. Um cpf de 11 dígitos cabe num long, então a
+ * tabela (endereçamento aberto) guarda a chave numérica e o início de uma
+ * lista encadeada de ids em arrays paralelos; cpfs repetidos, como os da
+ * carga inicial, só encadeiam mais ids. Nada de String.hashCode nem boxing.
+ *
+ * Cpfs fora do formato de 11 dígitos não entram no índice: a busca por eles
+ * devolve null e o serviço consulta o banco.
+ */
+@Component
+public class CpfHashIndex implements ClientIndex {
+
+	private static final long EMPTY = -1L;
+	private static final int NONE = -1;
+
+	// tabela cpf -> primeira entrada da lista de ids
+	private long[] keys;
+	private int[] heads;
+	private int mask;
+	private int size;
+
+	// entradas das listas de ids, com lista de livres para reaproveitar posições
+	private long[] entryIds = new long[16];
+	private int[] entryNext = new int[16];
+	private int entryTop;
+	private int freeEntry = NONE;
+	private int entries;
+
+	private final LongLongHashMap cpfById = new LongLongHashMap();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public CpfHashIndex() {
+		allocate(16);
+	}
+
+	/*
+	 * Cpf com exatamente 11 dígitos como long, ou -1 se estiver fora do formato.
+	 */
+	public static long pack(String cpf) {
+		if (cpf == null || cpf.length() != 11) {
+			return EMPTY;
+		}
+		long valor = 0;
+		for (int i = 0; i < 11; i++) {
+			char c = cpf.charAt(i);
+			if (c < '0' || c > '9') {
+				return EMPTY;
+			}
+			valor = valor * 10 + (c - '0');
+		}
+		return valor;
+	}
+
+	@Override
+	public void put(ClientDTO client) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(client.getId());
+			long key = pack(client.getCpf());
+			if (key != EMPTY) {
+				cpfById.put(client.getId(), key);
+				link(key, client.getId());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			allocate(16);
+			entryIds = new long[16];
+			entryNext = new int[16];
+			entryTop = 0;
+			freeEntry = NONE;
+			entries = 0;
+			cpfById.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Ids com exatamente esse cpf, em ordem crescente. null quando o cpf não
+	 * está no formato indexado e a resposta precisa vir do banco.
+	 */
+	public long[] idsOf(String cpf) {
+		long key = pack(cpf);
+		if (key == EMPTY) {
+			return null;
+		}
+		lock.readLock().lock();
+		try {
+			int slot = find(key);
+			if (slot < 0) {
+				return new long[0];
+			}
+			int n = 0;
+			for (int e = heads[slot]; e != NONE; e = entryNext[e]) {
+				n++;
+			}
+			long[] ids = new long[n];
+			n = 0;
+			for (int e = heads[slot]; e != NONE; e = entryNext[e]) {
+				ids[n++] = entryIds[e];
+			}
+			Arrays.sort(ids);
+			return ids;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Memória dos arrays do índice (tabela, listas e mapa reverso id -> cpf).
+	 */
+	public long footprintBytes() {
+		lock.readLock().lock();
+		try {
+			return 12L * keys.length + 12L * entryIds.length + cpfById.footprintBytes();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void removeUnlocked(long id) {
+		long key = cpfById.remove(id, EMPTY);
+		if (key == EMPTY) {
+			return;
+		}
+		int slot = find(key);
+		int anterior = NONE;
+		for (int e = heads[slot]; e != NONE; anterior = e, e = entryNext[e]) {
+			if (entryIds[e] == id) {
+				if (anterior == NONE) {
+					heads[slot] = entryNext[e];
+				} else {
+					entryNext[anterior] = entryNext[e];
+				}
+				entryNext[e] = freeEntry;
+				freeEntry = e;
+				entries--;
+				break;
+			}
+		}
+		if (heads[slot] == NONE) {
+			removeSlot(slot);
+		}
+	}
+
+	private void link(long key, long id) {
+		int e = newEntry(id);
+		int slot = find(key);
+		if (slot >= 0) {
+			entryNext[e] = heads[slot];
+			heads[slot] = e;
+			return;
+		}
+		if ((size + 1) * 4L > keys.length * 3L) {
+			resize(keys.length * 2);
+		}
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		heads[i] = e;
+		entryNext[e] = NONE;
+		size++;
+	}
+
+	private int newEntry(long id) {
+		int e;
+		if (freeEntry != NONE) {
+			e = freeEntry;
+			freeEntry = entryNext[e];
+		} else {
+			if (entryTop == entryIds.length) {
+				entryIds = Arrays.copyOf(entryIds, entryTop * 2);
+				entryNext = Arrays.copyOf(entryNext, entryTop * 2);
+			}
+			e = entryTop++;
+		}
+		entryIds[e] = id;
+		entries++;
+		return e;
+	}
+
+	private int find(long key) {
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void removeSlot(int i) {
+		int gap = i;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (keys[j] == EMPTY) {
+				break;
+			}
+			int ideal = LongHashSet.hash(keys[j]) & mask;
+			boolean noIntervalo = gap <= j ? (ideal > gap && ideal <= j) : (ideal > gap || ideal <= j);
+			if (!noIntervalo) {
+				keys[gap] = keys[j];
+				heads[gap] = heads[j];
+				gap = j;
+			}
+		}
+		keys[gap] = EMPTY;
+		size--;
+	}
+
+	private void allocate(int capacidade) {
+		keys = new long[capacidade];
+		heads = new int[capacidade];
+		Arrays.fill(keys, EMPTY);
+		mask = capacidade - 1;
+		size = 0;
+	}
+
+	private void resize(int capacidade) {
+		long[] antigasChaves = keys;
+		int[] antigosInicios = heads;
+		allocate(capacidade);
+		for (int i = 0; i < antigasChaves.length; i++) {
+			if (antigasChaves[i] != EMPTY) {
+				int j = LongHashSet.hash(antigasChaves[i]) & mask;
+				while (keys[j] != EMPTY) {
+					j = (j + 1) & mask;
+				}
+				keys[j] = antigasChaves[i];
+				heads[j] = antigosInicios[i];
+				size++;
+			}
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.iftm.client.services.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+
+/*
+ * Índice de trigramas do cpf para buscas por trecho ("%x%") e por prefixo
+ * ("x%"), que no banco viram varredura completa da tabela. Cada trigrama só
+ * de dígitos (1000 possíveis) aponta para o conjunto de ids que o contém;
+ * a busca parte da menor lista entre os trigramas do trecho e confirma cada
+ * candidato contra o cpf guardado, então o resultado é exato.
+ *
+ * Trechos com menos de 3 dígitos seguidos não têm trigrama e são conferidos
+ * contra todos os cpfs em memória, o que ainda evita ir ao banco.
+ */
+@Component
+public class CpfNgramIndex implements ClientIndex {
+
+	private static final int GRAMAS = 1000;
+
+	private final Map<Long, String> cpfById = new HashMap<>();
+	private final LongHashSet[] postings = new LongHashSet[GRAMAS];
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@Override
+	public void put(ClientDTO client) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(client.getId());
+			String cpf = client.getCpf();
+			if (cpf == null) {
+				return;
+			}
+			cpfById.put(client.getId(), cpf);
+			for (int i = 0; i + 3 <= cpf.length(); i++) {
+				int grama = grama(cpf, i);
+				if (grama >= 0) {
+					if (postings[grama] == null) {
+						postings[grama] = new LongHashSet();
+					}
+					postings[grama].add(client.getId());
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeUnlocked(Long id) {
+		String cpf = cpfById.remove(id);
+		if (cpf == null) {
+			return;
+		}
+		for (int i = 0; i + 3 <= cpf.length(); i++) {
+			int grama = grama(cpf, i);
+			if (grama >= 0 && postings[grama] != null) {
+				postings[grama].remove(id);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			cpfById.clear();
+			for (int i = 0; i < GRAMAS; i++) {
+				postings[i] = null;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Ids cujo cpf contém (ou começa com, se prefix) o trecho. Devolve null se
+	 * houver mais que "limite" resultados: aí a consulta não é seletiva e o
+	 * banco resolve melhor que uma lista enorme de ids.
+	 */
+	public long[] search(String trecho, boolean prefix, int limite) {
+		lock.readLock().lock();
+		try {
+			LongHashSet menor = null;
+			for (int i = 0; i + 3 <= trecho.length(); i++) {
+				int grama = grama(trecho, i);
+				if (grama < 0) {
+					continue;
+				}
+				LongHashSet lista = postings[grama];
+				if (lista == null) {
+					return new long[0];
+				}
+				if (menor == null || lista.size() < menor.size()) {
+					menor = lista;
+				}
+			}
+			LongHashSet encontrados = new LongHashSet();
+			if (menor != null) {
+				for (long id : menor.toArray()) {
+					if (confere(cpfById.get(id), trecho, prefix) && !adiciona(encontrados, id, limite)) {
+						return null;
+					}
+				}
+			} else {
+				for (Map.Entry<Long, String> entry : cpfById.entrySet()) {
+					if (confere(entry.getValue(), trecho, prefix) && !adiciona(encontrados, entry.getKey(), limite)) {
+						return null;
+					}
+				}
+			}
+			return encontrados.toArray();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return cpfById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static boolean adiciona(LongHashSet encontrados, long id, int limite) {
+		encontrados.add(id);
+		return encontrados.size() <= limite;
+	}
+
+	private static boolean confere(String cpf, String trecho, boolean prefix) {
+		return cpf != null && (prefix ? cpf.startsWith(trecho) : cpf.contains(trecho));
+	}
+
+	/*
+	 * Código 0..999 do trigrama que começa em i, ou -1 se houver algo que não
+	 * seja dígito.
+	 */
+	private static int grama(String s, int i) {
+		int codigo = 0;
+		for (int k = i; k < i + 3; k++) {
+			char c = s.charAt(k);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			codigo = codigo * 10 + (c - '0');
+		}
+		return codigo;
+	}
+}
@@ -0,0 +1,222 @@
+package com.iftm.client.services.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.FuzzyMatchDTO;
+
+/*
+ * Busca tolerante a erros de digitação: similaridade de Jaccard entre os
+ * trigramas do nome digitado e os de cada nome (palavras sem acento, com
+ * dois espaços antes e um depois, como no pg_trgm). "Lazaro Ramoz" ainda
+ * divide a maioria dos trigramas com "Lázaro Ramos".
+ *
+ * Cada trigrama (três chars num long) aponta para os ids que o contêm. A
+ * contagem de trigramas em comum começa pelas listas mais raras; só elas
+ * trazem candidatos novos (no máximo maxCandidatos) e as listas comuns são
+ * apenas sondadas para os candidatos já aceitos, então o custo da busca é
+ * limitado mesmo com milhões de nomes. A resposta sai toda da memória, sem
+ * ir ao banco.
+ */
+@Component
+public class FuzzyNameIndex implements ClientIndex {
+
+	private final LongLongHashMap slotByGram = new LongLongHashMap();
+	private final List<LongHashSet> postings = new ArrayList<>();
+	private final Map<Long, Nome> nomes = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	static long[] trigramas(String nome) {
+		LongHashSet gramas = new LongHashSet();
+		for (String token : NameIndex.tokens(nome)) {
+			String s = "  " + token + " ";
+			for (int i = 0; i + 3 <= s.length(); i++) {
+				gramas.add(((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2));
+			}
+		}
+		return gramas.toArray();
+	}
+
+	@Override
+	public void put(ClientDTO client) {
+		long[] gramas = trigramas(client.getName());
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(client.getId());
+			if (gramas.length == 0) {
+				return;
+			}
+			nomes.put(client.getId(), new Nome(client.getName(), gramas));
+			for (long grama : gramas) {
+				long slot = slotByGram.get(grama, -1);
+				if (slot < 0) {
+					slot = postings.size();
+					postings.add(new LongHashSet());
+					slotByGram.put(grama, slot);
+				}
+				postings.get((int) slot).add(client.getId());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeUnlocked(Long id) {
+		Nome nome = nomes.remove(id);
+		if (nome == null) {
+			return;
+		}
+		for (long grama : nome.gramas) {
+			postings.get((int) slotByGram.get(grama, -1)).remove(id);
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			slotByGram.clear();
+			postings.clear();
+			nomes.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Os k nomes mais parecidos com similaridade >= minimo, do mais ao menos
+	 * parecido (empate fica com o menor id).
+	 */
+	public List<FuzzyMatchDTO> search(String nome, int k, double minimo, int maxCandidatos) {
+		long[] consulta = trigramas(nome);
+		List<FuzzyMatchDTO> resultado = new ArrayList<>();
+		if (consulta.length == 0) {
+			return resultado;
+		}
+		lock.readLock().lock();
+		try {
+			List<LongHashSet> listas = new ArrayList<>();
+			for (long grama : consulta) {
+				long slot = slotByGram.get(grama, -1);
+				if (slot >= 0 && !postings.get((int) slot).isEmpty()) {
+					listas.add(postings.get((int) slot));
+				}
+			}
+			listas.sort(Comparator.comparingInt(LongHashSet::size));
+
+			// Jaccard >= minimo exige ao menos minimo * |consulta| trigramas em comum, então
+			// quem não está em nenhuma das listas mais raras do "prefixo" já está descartado
+			int minimoEmComum = Math.max(1, (int) Math.ceil(minimo * consulta.length));
+			int prefixo = listas.size() - minimoEmComum + 1;
+			long esperados = 0;
+			for (int i = 0; i < Math.max(0, prefixo); i++) {
+				esperados += listas.get(i).size();
+			}
+			LongLongHashMap comuns = new LongLongHashMap((int) Math.min(esperados, maxCandidatos));
+			for (int i = 0; i < listas.size(); i++) {
+				LongHashSet ids = listas.get(i);
+				boolean aceitaNovos = i < prefixo && comuns.size() < maxCandidatos;
+				if (!aceitaNovos && ids.size() > comuns.size()) {
+					// lista maior que os candidatos: sonda cada candidato em vez de percorrer a lista
+					comuns.forEach((id, n) -> {
+						if (ids.contains(id)) {
+							comuns.addTo(id, 1);
+						}
+					});
+				} else {
+					ids.forEach(id -> {
+						if ((aceitaNovos && comuns.size() < maxCandidatos) || comuns.containsKey(id)) {
+							comuns.addTo(id, 1);
+						}
+					});
+				}
+			}
+
+			PriorityQueue<Match> top = new PriorityQueue<>(k);
+			comuns.forEach((id, emComum) -> {
+				if (emComum < minimoEmComum) {
+					return;
+				}
+				Nome candidato = nomes.get(id);
+				double similaridade = (double) emComum / (consulta.length + candidato.gramas.length - emComum);
+				if (similaridade < minimo) {
+					return;
+				}
+				Match match = new Match(id, similaridade);
+				if (top.size() == k) {
+					if (match.compareTo(top.peek()) <= 0) {
+						return;
+					}
+					top.poll();
+				}
+				top.add(match);
+			});
+			while (!top.isEmpty()) {
+				Match match = top.poll();
+				resultado.add(0, new FuzzyMatchDTO(match.id, nomes.get(match.id).nome, match.similaridade));
+			}
+			return resultado;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return nomes.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static final class Nome {
+		private final String nome;
+		private final long[] gramas;
+
+		private Nome(String nome, long[] gramas) {
+			this.nome = nome;
+			this.gramas = gramas;
+		}
+	}
+
+	/*
+	 * Ordem natural = do pior para o melhor, para o heap descartar o pior.
+	 */
+	private static final class Match implements Comparable<Match> {
+		private final long id;
+		private final double similaridade;
+
+		private Match(long id, double similaridade) {
+			this.id = id;
+			this.similaridade = similaridade;
+		}
+
+		@Override
+		public int compareTo(Match outro) {
+			if (similaridade != outro.similaridade) {
+				return Double.compare(similaridade, outro.similaridade);
+			}
+			return Long.compare(outro.id, id);
+		}
+	}
+}
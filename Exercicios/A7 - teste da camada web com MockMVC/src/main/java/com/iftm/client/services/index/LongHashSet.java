@@ -0,0 +1,143 @@
+package com.iftm.client.services.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/*
+ * Conjunto de long sem boxing (endereçamento aberto, sondagem linear e
+ * remoção por deslocamento para trás, sem lápides). Long.MIN_VALUE é
+ * reservado como posição vazia.
+ */
+public class LongHashSet {
+
+	private static final long EMPTY = Long.MIN_VALUE;
+
+	private long[] keys;
+	private int mask;
+	private int size;
+
+	public LongHashSet() {
+		this(4);
+	}
+
+	public LongHashSet(int expected) {
+		int capacidade = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+		allocate(capacidade);
+	}
+
+	private void allocate(int capacidade) {
+		keys = new long[capacidade];
+		Arrays.fill(keys, EMPTY);
+		mask = capacidade - 1;
+	}
+
+	static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	public boolean add(long key) {
+		if ((size + 1) * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		int i = hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		size++;
+		return true;
+	}
+
+	public boolean contains(long key) {
+		int i = hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	public boolean remove(long key) {
+		int i = hash(key) & mask;
+		while (keys[i] != key) {
+			if (keys[i] == EMPTY) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		// puxa para o buraco as chaves seguintes cuja posição ideal não está entre o buraco e elas
+		int gap = i;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (keys[j] == EMPTY) {
+				break;
+			}
+			int ideal = hash(keys[j]) & mask;
+			boolean noIntervalo = gap <= j ? (ideal > gap && ideal <= j) : (ideal > gap || ideal <= j);
+			if (!noIntervalo) {
+				keys[gap] = keys[j];
+				gap = j;
+			}
+		}
+		keys[gap] = EMPTY;
+		size--;
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		size = 0;
+	}
+
+	public void forEach(LongConsumer consumer) {
+		for (long key : keys) {
+			if (key != EMPTY) {
+				consumer.accept(key);
+			}
+		}
+	}
+
+	public long[] toArray() {
+		long[] resultado = new long[size];
+		int n = 0;
+		for (long key : keys) {
+			if (key != EMPTY) {
+				resultado[n++] = key;
+			}
+		}
+		return resultado;
+	}
+
+	/*
+	 * Memória ocupada pela tabela (sem contar o cabeçalho do objeto).
+	 */
+	public long footprintBytes() {
+		return 16L + 8L * keys.length;
+	}
+
+	private void resize(int capacidade) {
+		long[] antigas = keys;
+		allocate(capacidade);
+		size = 0;
+		for (long key : antigas) {
+			if (key != EMPTY) {
+				add(key);
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.iftm.client.services.index;
+
+import java.util.Arrays;
+
+/*
+ * Mapa long -> long sem boxing, no mesmo esquema do LongHashSet (sondagem
+ * linear, remoção por deslocamento para trás). Long.MIN_VALUE é reservado
+ * como chave vazia.
+ */
+public class LongLongHashMap {
+
+	private static final long EMPTY = Long.MIN_VALUE;
+
+	private long[] keys;
+	private long[] values;
+	private int mask;
+	private int size;
+
+	public LongLongHashMap() {
+		this(16);
+	}
+
+	public LongLongHashMap(int expected) {
+		allocate(Integer.highestOneBit(Math.max(4, expected * 4 / 3 + 1) - 1) << 1);
+	}
+
+	private void allocate(int capacidade) {
+		keys = new long[capacidade];
+		values = new long[capacidade];
+		Arrays.fill(keys, EMPTY);
+		mask = capacidade - 1;
+	}
+
+	public void put(long key, long value) {
+		if ((size + 1) * 4L > keys.length * 3L) {
+			resize(keys.length * 2);
+		}
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+	}
+
+	/*
+	 * Soma delta ao valor da chave (0 se ausente) e devolve o novo valor.
+	 * Somar a uma chave existente nunca redimensiona a tabela, então pode ser
+	 * feito dentro de um forEach.
+	 */
+	public long addTo(long key, long delta) {
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				values[i] += delta;
+				return values[i];
+			}
+			i = (i + 1) & mask;
+		}
+		put(key, delta);
+		return delta;
+	}
+
+	public boolean containsKey(long key) {
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	public void forEach(Visitor visitor) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != EMPTY) {
+				visitor.visit(keys[i], values[i]);
+			}
+		}
+	}
+
+	public long get(long key, long ausente) {
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				return values[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return ausente;
+	}
+
+	public long remove(long key, long ausente) {
+		int i = LongHashSet.hash(key) & mask;
+		while (keys[i] != key) {
+			if (keys[i] == EMPTY) {
+				return ausente;
+			}
+			i = (i + 1) & mask;
+		}
+		long anterior = values[i];
+		int gap = i;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (keys[j] == EMPTY) {
+				break;
+			}
+			int ideal = LongHashSet.hash(keys[j]) & mask;
+			boolean noIntervalo = gap <= j ? (ideal > gap && ideal <= j) : (ideal > gap || ideal <= j);
+			if (!noIntervalo) {
+				keys[gap] = keys[j];
+				values[gap] = values[j];
+				gap = j;
+			}
+		}
+		keys[gap] = EMPTY;
+		size--;
+		return anterior;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		size = 0;
+	}
+
+	public long footprintBytes() {
+		return 32L + 16L * keys.length;
+	}
+
+	private void resize(int capacidade) {
+		long[] antigasChaves = keys;
+		long[] antigosValores = values;
+		allocate(capacidade);
+		size = 0;
+		for (int i = 0; i < antigasChaves.length; i++) {
+			if (antigasChaves[i] != EMPTY) {
+				put(antigasChaves[i], antigosValores[i]);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface Visitor {
+		void visit(long key, long value);
+	}
+}
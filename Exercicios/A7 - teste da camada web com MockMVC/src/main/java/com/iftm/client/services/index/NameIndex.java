@@ -0,0 +1,262 @@
+package com.iftm.client.services.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.ClientDTO;
+
+/*
+ * Índice invertido do nome: cada palavra, sem acento e em minúsculas, aponta
+ * para os ids que a contêm. As palavras ficam num TreeMap para que um termo
+ * da busca case com qualquer palavra que comece com ele ("conc" acha
+ * "Conceição").
+ *
+ * Todos os termos precisam casar. A busca percorre só os candidatos do termo
+ * mais seletivo e confere os demais por sondagem nas listas deles. Ranking:
+ * palavra inteira vale mais que prefixo; empate fica com o menor id.
+ */
+@Component
+public class NameIndex implements ClientIndex {
+
+	private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final String[] NENHUM = new String[0];
+	private static final int MAX_SONDAS = 8;
+
+	private final NavigableMap<String, LongHashSet> postings = new TreeMap<>();
+	private final Map<Long, String[]> tokensById = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public static String[] tokens(String texto) {
+		if (texto == null) {
+			return NENHUM;
+		}
+		String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		String normalizado = SEPARADORES.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+		return normalizado.isEmpty() ? NENHUM : normalizado.split(" ");
+	}
+
+	@Override
+	public void put(ClientDTO client) {
+		String[] tokens = tokens(client.getName());
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(client.getId());
+			if (tokens.length == 0) {
+				return;
+			}
+			tokensById.put(client.getId(), tokens);
+			for (String token : tokens) {
+				postings.computeIfAbsent(token, t -> new LongHashSet()).add(client.getId());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeUnlocked(Long id) {
+		String[] tokens = tokensById.remove(id);
+		if (tokens == null) {
+			return;
+		}
+		for (String token : tokens) {
+			LongHashSet ids = postings.get(token);
+			if (ids != null) {
+				ids.remove(id);
+				if (ids.isEmpty()) {
+					postings.remove(token);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			tokensById.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Até k ids, do mais ao menos relevante.
+	 */
+	public long[] search(String consulta, int k) {
+		String[] termos = Arrays.stream(tokens(consulta)).distinct()
+				.sorted(Comparator.comparingInt(String::length).reversed()).toArray(String[]::new);
+		if (termos.length == 0) {
+			return new long[0];
+		}
+		lock.readLock().lock();
+		try {
+			// termos mais longos costumam ser mais seletivos e limitam cedo a expansão dos outros
+			Termo[] expandidos = new Termo[termos.length];
+			Termo seletivo = null;
+			for (int i = 0; i < termos.length; i++) {
+				expandidos[i] = new Termo(termos[i], seletivo == null ? Long.MAX_VALUE : seletivo.total);
+				if (expandidos[i].total == 0) {
+					return new long[0];
+				}
+				if (seletivo == null || expandidos[i].total < seletivo.total) {
+					seletivo = expandidos[i];
+				}
+			}
+			PriorityQueue<Hit> top = new PriorityQueue<>(k);
+			if (seletivo.exata != null) {
+				coletar(seletivo.exata, 2, null, seletivo, expandidos, top, k);
+			}
+			// com mais de uma palavra casando o prefixo, o mesmo id pode vir repetido
+			LongHashSet vistos = seletivo.prefixos.size() > 1 ? new LongHashSet((int) seletivo.total) : null;
+			for (LongHashSet ids : seletivo.prefixos) {
+				coletar(ids, 1, vistos, seletivo, expandidos, top, k);
+			}
+			long[] ids = new long[top.size()];
+			for (int i = ids.length - 1; i >= 0; i--) {
+				ids[i] = top.poll().id;
+			}
+			return ids;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void coletar(LongHashSet ids, int pontos, LongHashSet vistos, Termo seletivo, Termo[] termos,
+			PriorityQueue<Hit> top, int k) {
+		ids.forEach(id -> {
+			if (pontos == 1 && seletivo.exata != null && seletivo.exata.contains(id)) {
+				return;
+			}
+			if (vistos != null && !vistos.add(id)) {
+				return;
+			}
+			int score = pontos;
+			for (Termo termo : termos) {
+				if (termo != seletivo) {
+					int s = termo.score(id);
+					if (s == 0) {
+						return;
+					}
+					score += s;
+				}
+			}
+			if (top.size() == k) {
+				Hit pior = top.peek();
+				if (score < pior.score || (score == pior.score && id > pior.id)) {
+					return;
+				}
+				top.poll();
+			}
+			top.add(new Hit(id, score));
+		});
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return tokensById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * Um termo da busca com as listas que casam com ele: a da palavra igual e
+	 * as das palavras que só começam com ele. A expansão para ao passar de
+	 * "limite" ids (o termo já não é o mais seletivo).
+	 */
+	private final class Termo {
+		private final String texto;
+		private final LongHashSet exata;
+		private final List<LongHashSet> prefixos = new ArrayList<>();
+		private long total;
+		private boolean completo = true;
+
+		private Termo(String texto, long limite) {
+			this.texto = texto;
+			this.exata = postings.get(texto);
+			this.total = exata == null ? 0 : exata.size();
+			for (LongHashSet ids : postings.subMap(texto, false, texto + Character.MAX_VALUE, false).values()) {
+				if (total >= limite) {
+					completo = false;
+					break;
+				}
+				prefixos.add(ids);
+				total += ids.size();
+			}
+		}
+
+		/*
+		 * 2 para palavra igual, 1 para prefixo, 0 se não casa. Com poucas
+		 * listas a resposta sai de sondagens nos conjuntos; senão, das palavras
+		 * do próprio cliente.
+		 */
+		private int score(long id) {
+			if (exata != null && exata.contains(id)) {
+				return 2;
+			}
+			if (completo && prefixos.size() <= MAX_SONDAS) {
+				for (LongHashSet ids : prefixos) {
+					if (ids.contains(id)) {
+						return 1;
+					}
+				}
+				return 0;
+			}
+			for (String token : tokensById.get(id)) {
+				if (token.startsWith(texto)) {
+					return 1;
+				}
+			}
+			return 0;
+		}
+	}
+
+	/*
+	 * Ordem natural = do pior para o melhor, para o heap descartar o pior.
+	 * Empate no score fica com o menor id.
+	 */
+	private static final class Hit implements Comparable<Hit> {
+		private final long id;
+		private final int score;
+
+		private Hit(long id, int score) {
+			this.id = id;
+			this.score = score;
+		}
+
+		@Override
+		public int compareTo(Hit outro) {
+			if (score != outro.score) {
+				return Integer.compare(score, outro.score);
+			}
+			return Long.compare(outro.id, id);
+		}
+	}
+}
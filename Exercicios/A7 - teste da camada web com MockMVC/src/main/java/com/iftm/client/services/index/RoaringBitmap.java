@@ -0,0 +1,585 @@
+package com.iftm.client.services.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+/*
+ * Conjunto de ids no formato do Roaring: os 48 bits altos do id escolhem um
+ * contêiner e os 16 baixos são guardados nele. Um contêiner com até 4096
+ * elementos é um vetor ordenado de char (2 bytes por id); acima disso vira
+ * um mapa de bits fixo de 8 KB. Assim conjuntos esparsos e densos ocupam
+ * pouco e as operações andam de contêiner em contêiner, palavra a palavra
+ * quando os dois lados são mapas de bits.
+ *
+ * Não é thread-safe: quem compartilha uma instância sincroniza por fora.
+ * and/or/andNot devolvem conjuntos novos e não alteram os operandos.
+ */
+public class RoaringBitmap {
+
+	static final int MAX_VETOR = 4096;
+
+	private long[] chaves = new long[4];
+	private Conteiner[] conteineres = new Conteiner[4];
+	private int tamanho;
+
+	public boolean add(long id) {
+		long alto = id >>> 16;
+		int i = busca(alto);
+		if (i < 0) {
+			i = -i - 1;
+			inserir(i, alto, new Vetor());
+		}
+		Conteiner antes = conteineres[i];
+		int cardinalidade = antes.cardinalidade();
+		conteineres[i] = antes.add((char) id);
+		return conteineres[i].cardinalidade() > cardinalidade;
+	}
+
+	public boolean remove(long id) {
+		int i = busca(id >>> 16);
+		if (i < 0) {
+			return false;
+		}
+		Conteiner antes = conteineres[i];
+		int cardinalidade = antes.cardinalidade();
+		Conteiner depois = antes.remove((char) id);
+		if (depois.cardinalidade() == 0) {
+			retirar(i);
+		} else {
+			conteineres[i] = depois;
+		}
+		return depois.cardinalidade() < cardinalidade;
+	}
+
+	public boolean contains(long id) {
+		int i = busca(id >>> 16);
+		return i >= 0 && conteineres[i].contem((char) id);
+	}
+
+	public long cardinality() {
+		long total = 0;
+		for (int i = 0; i < tamanho; i++) {
+			total += conteineres[i].cardinalidade();
+		}
+		return total;
+	}
+
+	public boolean isEmpty() {
+		return tamanho == 0;
+	}
+
+	public RoaringBitmap and(RoaringBitmap outro) {
+		RoaringBitmap resultado = new RoaringBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < tamanho && j < outro.tamanho) {
+			int cmp = Long.compare(chaves[i], outro.chaves[j]);
+			if (cmp < 0) {
+				i++;
+			} else if (cmp > 0) {
+				j++;
+			} else {
+				Conteiner c = conteineres[i].and(outro.conteineres[j]);
+				if (c.cardinalidade() > 0) {
+					resultado.anexar(chaves[i], c);
+				}
+				i++;
+				j++;
+			}
+		}
+		return resultado;
+	}
+
+	public RoaringBitmap or(RoaringBitmap outro) {
+		RoaringBitmap resultado = new RoaringBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < tamanho || j < outro.tamanho) {
+			int cmp = i == tamanho ? 1 : j == outro.tamanho ? -1 : Long.compare(chaves[i], outro.chaves[j]);
+			if (cmp < 0) {
+				resultado.anexar(chaves[i], conteineres[i].copia());
+				i++;
+			} else if (cmp > 0) {
+				resultado.anexar(outro.chaves[j], outro.conteineres[j].copia());
+				j++;
+			} else {
+				resultado.anexar(chaves[i], conteineres[i].or(outro.conteineres[j]));
+				i++;
+				j++;
+			}
+		}
+		return resultado;
+	}
+
+	public RoaringBitmap andNot(RoaringBitmap outro) {
+		RoaringBitmap resultado = new RoaringBitmap();
+		int j = 0;
+		for (int i = 0; i < tamanho; i++) {
+			while (j < outro.tamanho && outro.chaves[j] < chaves[i]) {
+				j++;
+			}
+			Conteiner c = j < outro.tamanho && outro.chaves[j] == chaves[i]
+					? conteineres[i].andNot(outro.conteineres[j]) : conteineres[i].copia();
+			if (c.cardinalidade() > 0) {
+				resultado.anexar(chaves[i], c);
+			}
+		}
+		return resultado;
+	}
+
+	/*
+	 * |this ∩ outro| sem montar a interseção: o caminho das contagens.
+	 */
+	public long andCardinality(RoaringBitmap outro) {
+		long total = 0;
+		int i = 0;
+		int j = 0;
+		while (i < tamanho && j < outro.tamanho) {
+			int cmp = Long.compare(chaves[i], outro.chaves[j]);
+			if (cmp < 0) {
+				i++;
+			} else if (cmp > 0) {
+				j++;
+			} else {
+				total += conteineres[i].andCardinalidade(outro.conteineres[j]);
+				i++;
+				j++;
+			}
+		}
+		return total;
+	}
+
+	public static RoaringBitmap or(Collection<RoaringBitmap> conjuntos) {
+		RoaringBitmap resultado = new RoaringBitmap();
+		for (RoaringBitmap conjunto : conjuntos) {
+			resultado = resultado.or(conjunto);
+		}
+		return resultado;
+	}
+
+	public RoaringBitmap copy() {
+		RoaringBitmap copia = new RoaringBitmap();
+		for (int i = 0; i < tamanho; i++) {
+			copia.anexar(chaves[i], conteineres[i].copia());
+		}
+		return copia;
+	}
+
+	public void forEach(LongConsumer acao) {
+		for (int i = 0; i < tamanho; i++) {
+			conteineres[i].paraCada(chaves[i] << 16, acao);
+		}
+	}
+
+	public long[] toArray() {
+		return slice(0, (int) Math.min(cardinality(), Integer.MAX_VALUE), true);
+	}
+
+	/*
+	 * "limite" ids a partir da posição "inicio" na ordem pedida. Contêineres
+	 * inteiros antes do início são pulados pela cardinalidade, sem percorrê-los.
+	 */
+	public long[] slice(long inicio, int limite, boolean crescente) {
+		long total = cardinality();
+		if (inicio >= total || limite <= 0) {
+			return new long[0];
+		}
+		int quantos = (int) Math.min(limite, total - inicio);
+		long primeiro = crescente ? inicio : total - inicio - quantos;
+		long[] ids = new long[quantos];
+		long posicao = 0;
+		int n = 0;
+		for (int i = 0; i < tamanho && n < quantos; i++) {
+			int cardinalidade = conteineres[i].cardinalidade();
+			if (posicao + cardinalidade <= primeiro) {
+				posicao += cardinalidade;
+				continue;
+			}
+			long[] trecho = conteineres[i].paraVetor(chaves[i] << 16);
+			int k = (int) Math.max(0, primeiro - posicao);
+			while (k < trecho.length && n < quantos) {
+				ids[n++] = trecho[k++];
+			}
+			posicao += cardinalidade;
+		}
+		if (!crescente) {
+			for (int a = 0, b = quantos - 1; a < b; a++, b--) {
+				long t = ids[a];
+				ids[a] = ids[b];
+				ids[b] = t;
+			}
+		}
+		return ids;
+	}
+
+	private int busca(long alto) {
+		return Arrays.binarySearch(chaves, 0, tamanho, alto);
+	}
+
+	private void anexar(long alto, Conteiner c) {
+		inserir(tamanho, alto, c);
+	}
+
+	private void inserir(int i, long alto, Conteiner c) {
+		if (tamanho == chaves.length) {
+			chaves = Arrays.copyOf(chaves, tamanho * 2);
+			conteineres = Arrays.copyOf(conteineres, tamanho * 2);
+		}
+		System.arraycopy(chaves, i, chaves, i + 1, tamanho - i);
+		System.arraycopy(conteineres, i, conteineres, i + 1, tamanho - i);
+		chaves[i] = alto;
+		conteineres[i] = c;
+		tamanho++;
+	}
+
+	private void retirar(int i) {
+		System.arraycopy(chaves, i + 1, chaves, i, tamanho - i - 1);
+		System.arraycopy(conteineres, i + 1, conteineres, i, tamanho - i - 1);
+		conteineres[--tamanho] = null;
+	}
+
+	/*
+	 * add/remove devolvem o contêiner que deve ficar no lugar (o próprio ou
+	 * o convertido para o outro formato ao cruzar MAX_VETOR).
+	 */
+	private abstract static class Conteiner {
+
+		abstract Conteiner add(char valor);
+
+		abstract Conteiner remove(char valor);
+
+		abstract boolean contem(char valor);
+
+		abstract int cardinalidade();
+
+		abstract Conteiner and(Conteiner outro);
+
+		abstract Conteiner or(Conteiner outro);
+
+		abstract Conteiner andNot(Conteiner outro);
+
+		abstract int andCardinalidade(Conteiner outro);
+
+		abstract Conteiner copia();
+
+		abstract void paraCada(long base, LongConsumer acao);
+
+		long[] paraVetor(long base) {
+			long[] ids = new long[cardinalidade()];
+			int[] n = { 0 };
+			paraCada(base, id -> ids[n[0]++] = id);
+			return ids;
+		}
+	}
+
+	private static final class Vetor extends Conteiner {
+
+		private char[] valores;
+		private int n;
+
+		Vetor() {
+			this(new char[4], 0);
+		}
+
+		Vetor(char[] valores, int n) {
+			this.valores = valores;
+			this.n = n;
+		}
+
+		private int busca(char valor) {
+			return Arrays.binarySearch(valores, 0, n, valor);
+		}
+
+		@Override
+		Conteiner add(char valor) {
+			int i = busca(valor);
+			if (i >= 0) {
+				return this;
+			}
+			if (n == MAX_VETOR) {
+				return paraMapa().add(valor);
+			}
+			i = -i - 1;
+			if (n == valores.length) {
+				valores = Arrays.copyOf(valores, Math.min(MAX_VETOR, Math.max(4, n * 2)));
+			}
+			System.arraycopy(valores, i, valores, i + 1, n - i);
+			valores[i] = valor;
+			n++;
+			return this;
+		}
+
+		@Override
+		Conteiner remove(char valor) {
+			int i = busca(valor);
+			if (i >= 0) {
+				System.arraycopy(valores, i + 1, valores, i, n - i - 1);
+				n--;
+			}
+			return this;
+		}
+
+		@Override
+		boolean contem(char valor) {
+			return busca(valor) >= 0;
+		}
+
+		@Override
+		int cardinalidade() {
+			return n;
+		}
+
+		@Override
+		Conteiner and(Conteiner outro) {
+			char[] resultado = new char[Math.min(n, outro.cardinalidade())];
+			int k = 0;
+			if (outro instanceof Vetor) {
+				Vetor v = (Vetor) outro;
+				int i = 0;
+				int j = 0;
+				while (i < n && j < v.n) {
+					if (valores[i] < v.valores[j]) {
+						i++;
+					} else if (valores[i] > v.valores[j]) {
+						j++;
+					} else {
+						resultado[k++] = valores[i];
+						i++;
+						j++;
+					}
+				}
+			} else {
+				for (int i = 0; i < n; i++) {
+					if (outro.contem(valores[i])) {
+						resultado[k++] = valores[i];
+					}
+				}
+			}
+			return new Vetor(resultado, k);
+		}
+
+		@Override
+		Conteiner or(Conteiner outro) {
+			if (outro instanceof Mapa) {
+				return outro.or(this);
+			}
+			Vetor v = (Vetor) outro;
+			char[] resultado = new char[n + v.n];
+			int k = 0;
+			int i = 0;
+			int j = 0;
+			while (i < n || j < v.n) {
+				if (j == v.n || (i < n && valores[i] < v.valores[j])) {
+					resultado[k++] = valores[i++];
+				} else if (i == n || valores[i] > v.valores[j]) {
+					resultado[k++] = v.valores[j++];
+				} else {
+					resultado[k++] = valores[i];
+					i++;
+					j++;
+				}
+			}
+			Vetor uniao = new Vetor(resultado, k);
+			return k > MAX_VETOR ? uniao.paraMapa() : uniao;
+		}
+
+		@Override
+		Conteiner andNot(Conteiner outro) {
+			char[] resultado = new char[n];
+			int k = 0;
+			for (int i = 0; i < n; i++) {
+				if (!outro.contem(valores[i])) {
+					resultado[k++] = valores[i];
+				}
+			}
+			return new Vetor(resultado, k);
+		}
+
+		@Override
+		int andCardinalidade(Conteiner outro) {
+			int total = 0;
+			for (int i = 0; i < n; i++) {
+				if (outro.contem(valores[i])) {
+					total++;
+				}
+			}
+			return total;
+		}
+
+		@Override
+		Conteiner copia() {
+			return new Vetor(Arrays.copyOf(valores, Math.max(n, 4)), n);
+		}
+
+		@Override
+		void paraCada(long base, LongConsumer acao) {
+			for (int i = 0; i < n; i++) {
+				acao.accept(base | valores[i]);
+			}
+		}
+
+		private Mapa paraMapa() {
+			Mapa mapa = new Mapa();
+			for (int i = 0; i < n; i++) {
+				mapa.add(valores[i]);
+			}
+			return mapa;
+		}
+	}
+
+	private static final class Mapa extends Conteiner {
+
+		private final long[] palavras;
+		private int n;
+
+		Mapa() {
+			this(new long[1024], 0);
+		}
+
+		Mapa(long[] palavras, int n) {
+			this.palavras = palavras;
+			this.n = n;
+		}
+
+		@Override
+		Conteiner add(char valor) {
+			long antes = palavras[valor >>> 6];
+			long depois = antes | (1L << valor);
+			palavras[valor >>> 6] = depois;
+			if (antes != depois) {
+				n++;
+			}
+			return this;
+		}
+
+		@Override
+		Conteiner remove(char valor) {
+			long antes = palavras[valor >>> 6];
+			long depois = antes & ~(1L << valor);
+			palavras[valor >>> 6] = depois;
+			if (antes != depois) {
+				n--;
+			}
+			return n <= MAX_VETOR ? paraVetor() : this;
+		}
+
+		@Override
+		boolean contem(char valor) {
+			return (palavras[valor >>> 6] & (1L << valor)) != 0;
+		}
+
+		@Override
+		int cardinalidade() {
+			return n;
+		}
+
+		@Override
+		Conteiner and(Conteiner outro) {
+			if (outro instanceof Vetor) {
+				return outro.and(this);
+			}
+			long[] b = ((Mapa) outro).palavras;
+			long[] resultado = new long[1024];
+			int total = 0;
+			for (int i = 0; i < 1024; i++) {
+				resultado[i] = palavras[i] & b[i];
+				total += Long.bitCount(resultado[i]);
+			}
+			return compacta(resultado, total);
+		}
+
+		@Override
+		Conteiner or(Conteiner outro) {
+			long[] resultado = palavras.clone();
+			int total = n;
+			if (outro instanceof Vetor) {
+				Vetor v = (Vetor) outro;
+				for (int i = 0; i < v.n; i++) {
+					char valor = v.valores[i];
+					long antes = resultado[valor >>> 6];
+					resultado[valor >>> 6] = antes | (1L << valor);
+					if (antes != resultado[valor >>> 6]) {
+						total++;
+					}
+				}
+				return new Mapa(resultado, total);
+			}
+			long[] b = ((Mapa) outro).palavras;
+			total = 0;
+			for (int i = 0; i < 1024; i++) {
+				resultado[i] |= b[i];
+				total += Long.bitCount(resultado[i]);
+			}
+			return new Mapa(resultado, total);
+		}
+
+		@Override
+		Conteiner andNot(Conteiner outro) {
+			long[] resultado = palavras.clone();
+			if (outro instanceof Vetor) {
+				Vetor v = (Vetor) outro;
+				for (int i = 0; i < v.n; i++) {
+					resultado[v.valores[i] >>> 6] &= ~(1L << v.valores[i]);
+				}
+			} else {
+				long[] b = ((Mapa) outro).palavras;
+				for (int i = 0; i < 1024; i++) {
+					resultado[i] &= ~b[i];
+				}
+			}
+			int total = 0;
+			for (long palavra : resultado) {
+				total += Long.bitCount(palavra);
+			}
+			return compacta(resultado, total);
+		}
+
+		@Override
+		int andCardinalidade(Conteiner outro) {
+			if (outro instanceof Vetor) {
+				return outro.andCardinalidade(this);
+			}
+			long[] b = ((Mapa) outro).palavras;
+			int total = 0;
+			for (int i = 0; i < 1024; i++) {
+				total += Long.bitCount(palavras[i] & b[i]);
+			}
+			return total;
+		}
+
+		@Override
+		Conteiner copia() {
+			return new Mapa(palavras.clone(), n);
+		}
+
+		@Override
+		void paraCada(long base, LongConsumer acao) {
+			for (int i = 0; i < 1024; i++) {
+				long palavra = palavras[i];
+				while (palavra != 0) {
+					acao.accept(base | (i << 6) | Long.numberOfTrailingZeros(palavra));
+					palavra &= palavra - 1;
+				}
+			}
+		}
+
+		private Vetor paraVetor() {
+			char[] valores = new char[Math.max(n, 4)];
+			int k = 0;
+			for (int i = 0; i < 1024; i++) {
+				long palavra = palavras[i];
+				while (palavra != 0) {
+					valores[k++] = (char) ((i << 6) | Long.numberOfTrailingZeros(palavra));
+					palavra &= palavra - 1;
+				}
+			}
+			return new Vetor(valores, k);
+		}
+
+		private static Conteiner compacta(long[] palavras, int total) {
+			Mapa mapa = new Mapa(palavras, total);
+			return total <= MAX_VETOR ? mapa.paraVetor() : mapa;
+		}
+	}
+}
@@ -0,0 +1,524 @@
+package com.iftm.client.services.readmodel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ReadModelStatusDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.repositories.ClientJdbcRepository;
+import com.iftm.client.services.events.ClientChangedEvent;
+
+/*
+ * Modelo de leitura: réplica completa de tb_client em memória, com um
+ * conjunto ordenado por campo de orderBy (name, income, birthDate, children
+ * e id, sempre desempatado por id). As listagens paginadas saem daqui sem
+ * SQL: a página é um trecho do conjunto da ordenação pedida, e os filtros de
+ * renda e filhos começam pela faixa correspondente no conjunto do campo. Os
+ * conjuntos sabem a posição de cada linha (OrderStatisticSet), então total e
+ * offset custam O(log n) e só as linhas da página são visitadas. O filtro de
+ * cpf chega como ids já resolvidos pelo índice de cpf.
+ *
+ * client.readmodel.mode escolhe como as escritas do ClientService chegam:
+ * - off: desligado, tudo vai ao banco;
+ * - sync: o evento é aplicado após o commit, na própria thread da escrita;
+ *   quando a resposta da escrita sai, a leitura seguinte já a enxerga;
+ * - async: os eventos vão para uma fila aplicada por uma thread própria,
+ *   em ordem; a escrita não espera, e a leitura pode ficar alguns eventos
+ *   atrás (pendingEvents no status).
+ * Um put só substitui a linha se a versão não for mais antiga que a atual,
+ * então reaplicar um evento depois de uma carga não volta o estado.
+ *
+ * Enquanto não estiver pronto (subida, carga após BULK_CHANGED ou rebuild)
+ * os métodos devolvem null e o serviço consulta o banco.
+ */
+@Component
+public class ClientReadModel {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ClientReadModel.class);
+
+	public enum Mode {
+		OFF, SYNC, ASYNC
+	}
+
+	private static final Comparator<Linha> POR_ID = Comparator.comparingLong(l -> l.id);
+	private static final Map<String, Comparator<Linha>> ORDENS = new HashMap<>();
+
+	static {
+		ORDENS.put("id", POR_ID);
+		ORDENS.put("name", Comparator.comparing((Linha l) -> l.name, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparing(POR_ID));
+		ORDENS.put("income", Comparator.comparing((Linha l) -> l.incomeCents,
+				Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(POR_ID));
+		ORDENS.put("birthDate", Comparator.comparing((Linha l) -> l.birthDate,
+				Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(POR_ID));
+		ORDENS.put("children", Comparator.comparing((Linha l) -> l.children,
+				Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(POR_ID));
+	}
+
+	@Autowired
+	private ClientJdbcRepository jdbcRepository;
+
+	@Value("${client.readmodel.mode:off}")
+	private String modo;
+
+	private Mode mode;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Linha> porId = new HashMap<>();
+	private final Map<String, OrderStatisticSet<Linha>> ordenados = new HashMap<>();
+	/* id removido -> versão que tinha; só a próxima carga completa limpa */
+	private final Map<Long, Long> removidos = new HashMap<>();
+	private final AtomicBoolean cargaPendente = new AtomicBoolean();
+	private final AtomicLong pendentes = new AtomicLong();
+	private final AtomicLong aplicados = new AtomicLong();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "client-readmodel");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private volatile boolean pronto;
+
+	@PostConstruct
+	void init() {
+		mode = Mode.valueOf(modo.trim().toUpperCase(Locale.ROOT));
+		for (Map.Entry<String, Comparator<Linha>> entry : ORDENS.entrySet()) {
+			ordenados.put(entry.getKey(), new OrderStatisticSet<>(entry.getValue()));
+		}
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public boolean isReady() {
+		return mode != Mode.OFF && pronto;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (mode != Mode.OFF) {
+			agendarCarga();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onClientChanged(ClientChangedEvent event) {
+		if (mode == Mode.OFF) {
+			return;
+		}
+		if (event.getType() == ClientChangedEvent.Type.BULK_CHANGED) {
+			pronto = false;
+			agendarCarga();
+			return;
+		}
+		if (mode == Mode.SYNC) {
+			aplicar(event);
+			return;
+		}
+		pendentes.incrementAndGet();
+		executor.execute(() -> {
+			try {
+				aplicar(event);
+			} finally {
+				pendentes.decrementAndGet();
+			}
+		});
+	}
+
+	/*
+	 * Quantas alterações (eventos e cargas) já foram aplicadas à réplica. A
+	 * geração de escritas sobe no commit, antes do modo async aplicar o
+	 * evento; por isso um validador de página servida daqui precisa também
+	 * deste número, lido antes da consulta.
+	 */
+	public long appliedSequence() {
+		return aplicados.get();
+	}
+
+	/*
+	 * Recarrega do banco e só retorna ao terminar. Passa pela mesma fila dos
+	 * eventos assíncronos, então o que já estava enfileirado é aplicado antes.
+	 */
+	public ReadModelStatusDTO rebuild() {
+		try {
+			executor.submit(this::carregar).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOG.error("Falha ao recarregar o modelo de leitura", e.getCause());
+		}
+		return status();
+	}
+
+	public ReadModelStatusDTO status() {
+		lock.readLock().lock();
+		try {
+			return new ReadModelStatusDTO(mode.name().toLowerCase(Locale.ROOT), isReady(), (long) porId.size(),
+					pendentes.get());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Page<ClientDTO> findAll(PageRequest pageRequest) {
+		return pagina(pageRequest, null, null, null);
+	}
+
+	public Page<ClientDTO> findByIncomeCents(long centavos, PageRequest pageRequest) {
+		return pagina(pageRequest, "income", sondaRenda(centavos, Long.MIN_VALUE), sondaRenda(centavos, Long.MAX_VALUE));
+	}
+
+	public Page<ClientDTO> findByIncomeCentsGreaterThan(long centavos, PageRequest pageRequest) {
+		return pagina(pageRequest, "income", sondaRenda(centavos, Long.MAX_VALUE), null);
+	}
+
+	public Page<ClientDTO> findByChildrenGreaterThanEqual(int children, PageRequest pageRequest) {
+		return pagina(pageRequest, "children", sondaFilhos(children, Long.MIN_VALUE), null);
+	}
+
+	/*
+	 * Página de um conjunto de ids já resolvido (por exemplo pelo índice de
+	 * cpf). Ids que não estão no modelo são ignorados no total.
+	 */
+	public Page<ClientDTO> findByIds(long[] ids, PageRequest pageRequest) {
+		if (!isReady()) {
+			return null;
+		}
+		Sort.Order ordem = ordemSuportada(pageRequest.getSort());
+		if (ordem == null) {
+			return null;
+		}
+		lock.readLock().lock();
+		try {
+			if (!pronto) {
+				return null;
+			}
+			List<Linha> candidatos = new ArrayList<>(ids.length);
+			for (long id : ids) {
+				Linha linha = porId.get(id);
+				if (linha != null) {
+					candidatos.add(linha);
+				}
+			}
+			return janela(candidatos, candidatos.size(), ordem, pageRequest);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * "campoFaixa": campo cujo conjunto restringe o filtro, entre as sondas
+	 * "de" (exclusiva, como todas as sondas: o id delas nunca coincide) e
+	 * "ate"; null nos dois lados é o conjunto inteiro. O total sai da
+	 * diferença de rank das sondas. Se a ordenação pedida é o mesmo campo, a
+	 * página é lida direto da posição do offset; senão vem de uma seleção
+	 * limitada a offset + tamanho da página.
+	 */
+	private Page<ClientDTO> pagina(PageRequest pageRequest, String campoFaixa, Linha de, Linha ate) {
+		if (!isReady()) {
+			return null;
+		}
+		Sort.Order ordem = ordemSuportada(pageRequest.getSort());
+		if (ordem == null) {
+			return null;
+		}
+		lock.readLock().lock();
+		try {
+			if (!pronto) {
+				return null;
+			}
+			String campo = campoFaixa == null ? ordem.getProperty() : campoFaixa;
+			OrderStatisticSet<Linha> faixa = ordenados.get(campo);
+			int inicio = de == null ? 0 : faixa.rank(de);
+			int fim = ate == null ? faixa.size() : faixa.rank(ate);
+			int total = Math.max(0, fim - inicio);
+			if (campo.equals(ordem.getProperty())) {
+				return trecho(faixa, inicio, total, ordem.isAscending(), pageRequest);
+			}
+			return cruzada(campo, de, ate, inicio, total, ordem, pageRequest);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * "total" linhas a partir da posição "inicio" do conjunto, já na ordem
+	 * pedida: só as linhas da página são visitadas.
+	 */
+	private static Page<ClientDTO> trecho(OrderStatisticSet<Linha> conjunto, int inicio, int total, boolean asc,
+			PageRequest pageRequest) {
+		List<ClientDTO> content = new ArrayList<>(pageRequest.getPageSize());
+		if (pageRequest.getOffset() < total) {
+			int offset = (int) pageRequest.getOffset();
+			int quantidade = Math.min(pageRequest.getPageSize(), total - offset);
+			int primeira = asc ? inicio + offset : inicio + total - 1 - offset;
+			Iterator<Linha> it = conjunto.iterator(primeira, asc);
+			for (int i = 0; i < quantidade; i++) {
+				content.add(it.next().toDTO());
+			}
+		}
+		return new PageImpl<>(content, pageRequest, total);
+	}
+
+	/*
+	 * Filtro num campo e ordenação em outro. Faixas pequenas são varridas
+	 * guardando só as offset + tamanho primeiras linhas da ordem pedida;
+	 * faixas grandes saem percorrendo o conjunto da ordenação e testando a
+	 * faixa, parando assim que a página se completa. Vai o que visitar menos.
+	 */
+	private Page<ClientDTO> cruzada(String campoFaixa, Linha de, Linha ate, int inicio, int total,
+			Sort.Order ordem, PageRequest pageRequest) {
+		if (pageRequest.getOffset() >= total) {
+			return new PageImpl<>(new ArrayList<>(), pageRequest, total);
+		}
+		int limite = (int) Math.min(total, pageRequest.getOffset() + pageRequest.getPageSize());
+		OrderStatisticSet<Linha> porOrdem = ordenados.get(ordem.getProperty());
+		if ((long) limite * porOrdem.size() >= (long) total * total) {
+			Iterator<Linha> it = ordenados.get(campoFaixa).iterator(inicio, true);
+			List<Linha> candidatos = new ArrayList<>(total);
+			for (int i = 0; i < total; i++) {
+				candidatos.add(it.next());
+			}
+			return janela(candidatos, total, ordem, pageRequest);
+		}
+		Comparator<Linha> faixa = ORDENS.get(campoFaixa);
+		List<ClientDTO> content = new ArrayList<>(pageRequest.getPageSize());
+		Iterator<Linha> it = porOrdem.iterator(ordem.isAscending() ? 0 : porOrdem.size() - 1, ordem.isAscending());
+		int vistas = 0;
+		while (vistas < limite && it.hasNext()) {
+			Linha linha = it.next();
+			if ((de != null && faixa.compare(linha, de) < 0) || (ate != null && faixa.compare(linha, ate) > 0)) {
+				continue;
+			}
+			if (vistas >= pageRequest.getOffset()) {
+				content.add(linha.toDTO());
+			}
+			vistas++;
+		}
+		return new PageImpl<>(content, pageRequest, total);
+	}
+
+	/*
+	 * Seleção limitada: um heap com as offset + tamanho primeiras linhas da
+	 * ordem pedida; só esse trecho é ordenado no fim.
+	 */
+	private static Page<ClientDTO> janela(Collection<Linha> candidatos, int total, Sort.Order ordem,
+			PageRequest pageRequest) {
+		List<ClientDTO> content = new ArrayList<>(pageRequest.getPageSize());
+		if (pageRequest.getOffset() >= total) {
+			return new PageImpl<>(content, pageRequest, total);
+		}
+		int limite = (int) Math.min(total, pageRequest.getOffset() + pageRequest.getPageSize());
+		Comparator<Linha> comparador = ordem.isAscending() ? ORDENS.get(ordem.getProperty())
+				: ORDENS.get(ordem.getProperty()).reversed();
+		PriorityQueue<Linha> heap = new PriorityQueue<>(limite + 1, comparador.reversed());
+		for (Linha linha : candidatos) {
+			if (heap.size() < limite) {
+				heap.add(linha);
+			} else if (comparador.compare(linha, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(linha);
+			}
+		}
+		List<Linha> primeiras = new ArrayList<>(heap);
+		primeiras.sort(comparador);
+		for (int i = (int) pageRequest.getOffset(); i < primeiras.size(); i++) {
+			content.add(primeiras.get(i).toDTO());
+		}
+		return new PageImpl<>(content, pageRequest, total);
+	}
+
+	/*
+	 * Aceita um campo conhecido, seguido no máximo de "id" na mesma direção
+	 * (o desempate que os conjuntos já fazem). Outras ordenações vão ao banco.
+	 */
+	private static Sort.Order ordemSuportada(Sort sort) {
+		if (sort.isUnsorted()) {
+			return Sort.Order.asc("id");
+		}
+		Sort.Order primeira = null;
+		for (Sort.Order ordem : sort) {
+			if (ordem.isIgnoreCase()) {
+				return null;
+			}
+			if (primeira == null) {
+				if (!ORDENS.containsKey(ordem.getProperty())) {
+					return null;
+				}
+				primeira = ordem;
+			} else if (!"id".equals(ordem.getProperty()) || ordem.getDirection() != primeira.getDirection()) {
+				return null;
+			}
+		}
+		return primeira;
+	}
+
+	private void aplicar(ClientChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			if (event.getType() == ClientChangedEvent.Type.DELETED) {
+				removeUnlocked(event.getId());
+			} else {
+				putUnlocked(event.getClient());
+			}
+			aplicados.incrementAndGet();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Um put com versão mais antiga que a da linha atual, ou que a da linha
+	 * já removida, chegou atrasado (modo sync com transações concorrentes) e
+	 * é descartado; sem isso um UPDATED velho ressuscitaria um cliente apagado.
+	 */
+	private void putUnlocked(ClientDTO client) {
+		Linha atual = porId.get(client.getId());
+		if (atual != null && atual.version != null && client.getVersion() != null
+				&& client.getVersion() < atual.version) {
+			return;
+		}
+		Long removida = removidos.get(client.getId());
+		if (removida != null && (client.getVersion() == null || client.getVersion() <= removida)) {
+			return;
+		}
+		retirar(client.getId());
+		Linha nova = new Linha(client);
+		porId.put(nova.id, nova);
+		for (OrderStatisticSet<Linha> conjunto : ordenados.values()) {
+			conjunto.add(nova);
+		}
+	}
+
+	/*
+	 * O DELETED não traz versão: fica a da linha removida, ou "qualquer uma"
+	 * se o evento chegou antes da linha.
+	 */
+	private void removeUnlocked(Long id) {
+		Linha antiga = retirar(id);
+		removidos.put(id, antiga == null || antiga.version == null ? Long.MAX_VALUE : antiga.version);
+	}
+
+	private Linha retirar(Long id) {
+		Linha antiga = porId.remove(id);
+		if (antiga == null) {
+			return null;
+		}
+		for (OrderStatisticSet<Linha> conjunto : ordenados.values()) {
+			conjunto.remove(antiga);
+		}
+		return antiga;
+	}
+
+	private void agendarCarga() {
+		if (cargaPendente.compareAndSet(false, true)) {
+			executor.execute(this::carregar);
+		}
+	}
+
+	private void carregar() {
+		cargaPendente.set(false);
+		long inicio = System.nanoTime();
+		pronto = false;
+		lock.writeLock().lock();
+		try {
+			porId.clear();
+			removidos.clear();
+			ordenados.values().forEach(OrderStatisticSet::clear);
+			jdbcRepository.forEach(this::putUnlocked);
+			aplicados.incrementAndGet();
+			pronto = true;
+		} catch (RuntimeException e) {
+			LOG.error("Falha ao carregar o modelo de leitura", e);
+			return;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		LOG.info("Modelo de leitura carregado: {} linhas em {} ms", porId.size(),
+				(System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private static Linha sondaRenda(long centavos, long id) {
+		return new Linha(id, null, null, centavos, null, null, null);
+	}
+
+	private static Linha sondaFilhos(int children, long id) {
+		return new Linha(id, null, null, 0L, null, children, null);
+	}
+
+	/*
+	 * Cópia imutável da linha: os conjuntos ordenados dependem de que os
+	 * campos não mudem enquanto a linha está neles.
+	 */
+	private static final class Linha {
+		private final long id;
+		private final String name;
+		private final String cpf;
+		private final Long incomeCents;
+		private final Instant birthDate;
+		private final Integer children;
+		private final Long version;
+
+		private Linha(ClientDTO client) {
+			this(client.getId(), client.getName(), client.getCpf(),
+					client.getIncome() == null ? null : Client.toCents(client.getIncome()), client.getBirthDate(),
+					client.getChildren(), client.getVersion());
+		}
+
+		private Linha(long id, String name, String cpf, Long incomeCents, Instant birthDate, Integer children,
+				Long version) {
+			this.id = id;
+			this.name = name;
+			this.cpf = cpf;
+			this.incomeCents = incomeCents;
+			this.birthDate = birthDate;
+			this.children = children;
+			this.version = version;
+		}
+
+		private ClientDTO toDTO() {
+			ClientDTO dto = new ClientDTO(id, name, cpf, incomeCents == null ? null : incomeCents / 100.0, birthDate,
+					children);
+			dto.setVersion(version);
+			return dto;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.iftm.client.services.readmodel;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Conjunto ordenado com posição: além de add/remove em O(log n), responde
+ * quantos elementos vêm antes de um valor (rank) e qual está numa posição
+ * (select), também em O(log n). É uma treap em que cada nó guarda o tamanho
+ * da sua subárvore. Não é thread-safe; quem usa cuida do lock.
+ */
+public class OrderStatisticSet<E> {
+
+	private static final class Node<E> {
+		final E value;
+		final int prioridade;
+		Node<E> left;
+		Node<E> right;
+		int size = 1;
+
+		Node(E value) {
+			this.value = value;
+			this.prioridade = ThreadLocalRandom.current().nextInt();
+		}
+	}
+
+	private final Comparator<? super E> comparator;
+	private Node<E> root;
+
+	public OrderStatisticSet(Comparator<? super E> comparator) {
+		this.comparator = comparator;
+	}
+
+	public int size() {
+		return size(root);
+	}
+
+	public void clear() {
+		root = null;
+	}
+
+	/*
+	 * Quem chama garante que o valor ainda não está no conjunto.
+	 */
+	public void add(E value) {
+		Node<E>[] partes = split(root, value, false);
+		root = merge(merge(partes[0], new Node<>(value)), partes[1]);
+	}
+
+	public void remove(E value) {
+		Node<E>[] partes = split(root, value, false);
+		Node<E>[] resto = split(partes[1], value, true);
+		root = merge(partes[0], resto[1]);
+	}
+
+	/*
+	 * Quantidade de elementos estritamente menores que "value".
+	 */
+	public int rank(E value) {
+		int rank = 0;
+		Node<E> node = root;
+		while (node != null) {
+			if (comparator.compare(node.value, value) < 0) {
+				rank += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return rank;
+	}
+
+	/*
+	 * Elemento na posição "index" (a partir de 0) da ordem crescente.
+	 */
+	public E select(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		Node<E> node = root;
+		while (true) {
+			int antes = size(node.left);
+			if (index < antes) {
+				node = node.left;
+			} else if (index == antes) {
+				return node.value;
+			} else {
+				index -= antes + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	/*
+	 * Percorre a partir da posição "index", em ordem crescente ou
+	 * decrescente. Só a descida até "index" custa O(log n); cada passo
+	 * seguinte é O(1) amortizado.
+	 */
+	public Iterator<E> iterator(int index, boolean ascending) {
+		Deque<Node<E>> pilha = new ArrayDeque<>();
+		Node<E> node = root;
+		int alvo = index;
+		while (node != null) {
+			int antes = size(node.left);
+			if (alvo < antes) {
+				if (ascending) {
+					pilha.push(node);
+				}
+				node = node.left;
+			} else if (alvo == antes) {
+				pilha.push(node);
+				break;
+			} else {
+				if (!ascending) {
+					pilha.push(node);
+				}
+				alvo -= antes + 1;
+				node = node.right;
+			}
+		}
+		return new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return !pilha.isEmpty();
+			}
+
+			@Override
+			public E next() {
+				if (pilha.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				Node<E> atual = pilha.pop();
+				Node<E> proximo = ascending ? atual.right : atual.left;
+				while (proximo != null) {
+					pilha.push(proximo);
+					proximo = ascending ? proximo.left : proximo.right;
+				}
+				return atual.value;
+			}
+		};
+	}
+
+	/*
+	 * Separa em [menores, maiores ou iguais] a "value", ou em [menores ou
+	 * iguais, maiores] quando "inclusive".
+	 */
+	@SuppressWarnings("unchecked")
+	private Node<E>[] split(Node<E> node, E value, boolean inclusive) {
+		if (node == null) {
+			return new Node[] { null, null };
+		}
+		int cmp = comparator.compare(node.value, value);
+		if (cmp < 0 || (inclusive && cmp == 0)) {
+			Node<E>[] partes = split(node.right, value, inclusive);
+			node.right = partes[0];
+			atualizar(node);
+			partes[0] = node;
+			return partes;
+		}
+		Node<E>[] partes = split(node.left, value, inclusive);
+		node.left = partes[1];
+		atualizar(node);
+		partes[1] = node;
+		return partes;
+	}
+
+	private Node<E> merge(Node<E> left, Node<E> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.prioridade > right.prioridade) {
+			left.right = merge(left.right, right);
+			atualizar(left);
+			return left;
+		}
+		right.left = merge(left, right.left);
+		atualizar(right);
+		return right;
+	}
+
+	private static void atualizar(Node<?> node) {
+		node.size = size(node.left) + size(node.right) + 1;
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+}
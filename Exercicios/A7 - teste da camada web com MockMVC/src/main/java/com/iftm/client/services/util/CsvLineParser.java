@@ -0,0 +1,62 @@
+package com.iftm.client.services.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Separa um registro CSV (RFC 4180) em campos. Aspas duplas delimitam campos
+ * com vírgula ou quebra de linha e "" representa uma aspa; quem lê linha a
+ * linha junta as seguintes enquanto aspasAbertas for verdadeiro.
+ */
+public final class CsvLineParser {
+
+	private CsvLineParser() {
+	}
+
+	/*
+	 * Se o texto termina dentro de um campo entre aspas. Cada aspa abre ou
+	 * fecha, e "" conta duas vezes, então basta a paridade.
+	 */
+	public static boolean aspasAbertas(String linha) {
+		boolean abertas = false;
+		for (int i = 0; i < linha.length(); i++) {
+			if (linha.charAt(i) == '"') {
+				abertas = !abertas;
+			}
+		}
+		return abertas;
+	}
+
+	public static List<String> parse(String linha) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		for (int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			if (entreAspas) {
+				if (c == '"') {
+					if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+						atual.append('"');
+						i++;
+					} else {
+						entreAspas = false;
+					}
+				} else {
+					atual.append(c);
+				}
+			} else if (c == '"') {
+				entreAspas = true;
+			} else if (c == ',') {
+				campos.add(atual.toString());
+				atual.setLength(0);
+			} else {
+				atual.append(c);
+			}
+		}
+		if (entreAspas) {
+			throw new IllegalArgumentException("Unterminated quoted field");
+		}
+		campos.add(atual.toString());
+		return campos;
+	}
+}
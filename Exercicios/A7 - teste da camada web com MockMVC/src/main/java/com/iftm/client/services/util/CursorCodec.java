@@ -0,0 +1,117 @@
+package com.iftm.client.services.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.exceptions.BadRequestException;
+
+/*
+ * Codifica/decodifica o token opaco da paginação por cursor.
+ * Formato interno (base64url): orderBy|direction|filtro|id|valor
+ * - filtro: hash da chave do filtro da listagem (ex.: "income=1500.0"), para
+ *   o cursor não ser reaproveitado em outra consulta;
+ * - valor: "-" para campo nulo, ou "=" seguido do valor (renda vai em
+ *   centavos, como está na entidade).
+ */
+@Component
+public class CursorCodec {
+
+	private static final String SEPARADOR = "|";
+	private static final String NULO = "-";
+	private static final String VALOR = "=";
+
+	public void validarOrderBy(String orderBy) {
+		switch (orderBy) {
+		case "id":
+		case "name":
+		case "income":
+		case "birthDate":
+		case "children":
+			return;
+		default:
+			throw new BadRequestException("Invalid orderBy for cursor pagination: " + orderBy);
+		}
+	}
+
+	public String encode(Client last, String orderBy, Direction direction, String filtro) {
+		Object value = valueOf(last, orderBy);
+		String raw = orderBy + SEPARADOR + direction.name() + SEPARADOR + hash(filtro) + SEPARADOR + last.getId()
+				+ SEPARADOR + (value == null ? NULO : VALOR + value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/*
+	 * Token vazio ou nulo significa primeira página (retorna null).
+	 */
+	public KeysetCursor decode(String token, String orderBy, Direction direction, String filtro) {
+		validarOrderBy(orderBy);
+		if (token == null || token.isEmpty()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] partes = raw.split("\\|", 5);
+			if (partes.length != 5) {
+				throw new BadRequestException("Invalid cursor");
+			}
+			if (!partes[0].equals(orderBy) || !partes[1].equals(direction.name()) || !partes[2].equals(hash(filtro))) {
+				throw new BadRequestException("Cursor does not match orderBy/direction/filter");
+			}
+			Long id = Long.valueOf(partes[3]);
+			Comparable<?> value;
+			if (partes[4].equals(NULO)) {
+				value = null;
+			} else if (partes[4].startsWith(VALOR)) {
+				value = parse(orderBy, partes[4].substring(VALOR.length()));
+			} else {
+				throw new BadRequestException("Invalid cursor");
+			}
+			if (value == null && "id".equals(orderBy)) {
+				throw new BadRequestException("Invalid cursor");
+			}
+			return new KeysetCursor(orderBy, direction, value, id);
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new BadRequestException("Invalid cursor");
+		}
+	}
+
+	private static String hash(String filtro) {
+		return Integer.toHexString((filtro == null ? "" : filtro).hashCode());
+	}
+
+	private Object valueOf(Client client, String orderBy) {
+		switch (orderBy) {
+		case "name":
+			return client.getName();
+		case "income":
+			return client.getIncomeCents();
+		case "birthDate":
+			return client.getBirthDate();
+		case "children":
+			return client.getChildren();
+		default:
+			return client.getId();
+		}
+	}
+
+	private Comparable<?> parse(String orderBy, String value) {
+		switch (orderBy) {
+		case "name":
+			return value;
+		case "income":
+			return Long.valueOf(value);
+		case "birthDate":
+			return Instant.parse(value);
+		case "children":
+			return Integer.valueOf(value);
+		default:
+			return Long.valueOf(value);
+		}
+	}
+}
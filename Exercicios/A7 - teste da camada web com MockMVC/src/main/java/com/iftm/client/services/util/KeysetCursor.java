@@ -0,0 +1,38 @@
+package com.iftm.client.services.util;
+
+import org.springframework.data.domain.Sort.Direction;
+
+/*
+ * Posição decodificada de um cursor: valor do campo de ordenação (null se o
+ * campo era nulo) e id do último cliente entregue.
+ */
+public class KeysetCursor {
+
+	private final String orderBy;
+	private final Direction direction;
+	private final Comparable<?> value;
+	private final Long id;
+
+	public KeysetCursor(String orderBy, Direction direction, Comparable<?> value, Long id) {
+		this.orderBy = orderBy;
+		this.direction = direction;
+		this.value = value;
+		this.id = id;
+	}
+
+	public String getOrderBy() {
+		return orderBy;
+	}
+
+	public Direction getDirection() {
+		return direction;
+	}
+
+	public Comparable<?> getValue() {
+		return value;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
@@ -1,6 +1,9 @@
 package com.iftm.client.services.util;
 
 import org.springframework.stereotype.Component;
+
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.exceptions.BadRequestException;
 import com.iftm.client.services.exceptions.ResourceNotFoundException;
 
 
@@ -13,4 +16,20 @@ public class Validador {
 		}
 	}
 
-}
\ No newline at end of file
+	/*
+	 * Renda vinda da requisição (filtro ou corpo): precisa caber em centavos
+	 * (Client.toCents). NaN, infinito ou fora da faixa é 400 aqui, antes de
+	 * chegar à conversão.
+	 */
+	public void rendaValida(String campo, Double income) {
+		if (income == null) {
+			return;
+		}
+		try {
+			Client.toCents(income);
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException(campo + ": " + e.getMessage());
+		}
+	}
+
+}
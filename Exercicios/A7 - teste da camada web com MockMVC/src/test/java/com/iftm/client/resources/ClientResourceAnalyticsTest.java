@@ -0,0 +1,94 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceAnalyticsTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                indexMaintainer.rebuild();
+        }
+
+        private JsonNode getJson(String url, String... params) throws Exception {
+                MockHttpServletRequestBuilder request = get(url);
+                for (int i = 0; i < params.length; i += 2) {
+                        request.param(params[i], params[i + 1]);
+                }
+                String json = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(json);
+        }
+
+        @Test
+        @DisplayName("GET /clients/analytics deve trazer percentis e histogramas coerentes com /clients/stats")
+        public void testarAnalytics() throws Exception {
+                // Act
+                JsonNode stats = getJson("/clients/stats");
+                JsonNode analytics = getJson("/clients/analytics", "incomeBuckets", "5", "ageBucketYears", "20");
+
+                // Assert
+                assertEquals(stats.get("count").asLong(), analytics.get("count").asLong());
+                assertTrue(analytics.get("incomeP50").asDouble() <= analytics.get("incomeP90").asDouble());
+                assertTrue(analytics.get("incomeP90").asDouble() <= analytics.get("incomeP99").asDouble());
+                assertEquals(6, analytics.get("incomeBucketEdges").size());
+                assertEquals(stats.get("incomeMin").asDouble(), analytics.get("incomeBucketEdges").get(0).asDouble());
+                assertEquals(stats.get("incomeMax").asDouble(), analytics.get("incomeBucketEdges").get(5).asDouble(), 1e-6);
+
+                long totalRenda = 0;
+                for (JsonNode faixas : analytics.get("incomeHistogramByChildren")) {
+                        assertEquals(5, faixas.size());
+                        for (JsonNode contagem : faixas) {
+                                totalRenda += contagem.asLong();
+                        }
+                }
+                assertEquals(stats.get("incomeCount").asLong(), totalRenda);
+
+                JsonNode filhos = stats.get("childrenCounts");
+                filhos.fieldNames().forEachRemaining(chave -> {
+                        long total = 0;
+                        for (JsonNode contagem : analytics.get("ageHistogramByChildren").get(chave)) {
+                                total += contagem.asLong();
+                        }
+                        assertEquals(filhos.get(chave).asLong(), total);
+                });
+        }
+
+        @Test
+        @DisplayName("Parâmetros fora dos limites devem retornar 400")
+        public void testarParametrosInvalidos() throws Exception {
+                mockMvc.perform(get("/clients/analytics")
+                        .param("incomeBuckets", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest())
+                        .andExpect(jsonPath("$.message").value("incomeBuckets must be between 1 and 1000"));
+        }
+}
@@ -0,0 +1,70 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.dto.ClientDTO;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceBatchTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        @DisplayName("POST /clients/batch deve inserir os itens válidos e reportar o erro de cada item inválido")
+        public void testarInsercaoEmLote() throws Exception {
+                // Arrange
+                List<ClientDTO> clientes = Arrays.asList(
+                        new ClientDTO(null, "Machado de Assis", "10020030040", 3000.0, Instant.parse("1939-06-21T10:00:00Z"), 0),
+                        new ClientDTO(null, null, "10020030041", 3000.0, Instant.parse("1940-06-21T10:00:00Z"), 1),
+                        new ClientDTO(null, "Cecília Meireles", "10020030042", 4000.0, Instant.parse("1901-11-07T10:00:00Z"), 3));
+                String jsonRequest = objectMapper.writeValueAsString(clientes);
+
+                // Act
+                String resposta = mockMvc.perform(post("/clients/batch")
+                        .param("chunkSize", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonRequest)
+                        .accept(MediaType.APPLICATION_JSON))
+                // Assert
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.inserted").value(2))
+                        .andExpect(jsonPath("$.failed").value(1))
+                        .andExpect(jsonPath("$.items.length()").value(3))
+                        .andExpect(jsonPath("$.items[0].index").value(0))
+                        .andExpect(jsonPath("$.items[0].id").isNumber())
+                        .andExpect(jsonPath("$.items[1].id").doesNotExist())
+                        .andExpect(jsonPath("$.items[1].error").value("Name is required"))
+                        .andExpect(jsonPath("$.items[2].id").isNumber())
+                        .andReturn().getResponse().getContentAsString();
+
+                JsonNode resultado = objectMapper.readTree(resposta);
+                long idInserido = resultado.get("items").get(2).get("id").asLong();
+                mockMvc.perform(get("/clients/id/{id}", idInserido)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.name").value("Cecília Meireles"));
+        }
+}
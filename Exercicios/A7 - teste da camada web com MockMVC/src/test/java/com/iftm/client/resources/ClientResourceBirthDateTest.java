@@ -0,0 +1,143 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceBirthDateTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        private JsonNode conteudo(String url) throws Exception {
+                String json = mockMvc.perform(get(url)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+                return objectMapper.readTree(json).get("content");
+        }
+
+        private List<String> nomes(JsonNode conteudo) {
+                List<String> nomes = new ArrayList<>();
+                conteudo.forEach(c -> nomes.add(c.get("name").asText()));
+                return nomes;
+        }
+
+        private int mes(JsonNode cliente) {
+                return ZonedDateTime.ofInstant(Instant.parse(cliente.get("birthDate").asText()), ZoneOffset.UTC)
+                        .getMonthValue();
+        }
+
+        @Test
+        @DisplayName("GET /clients/birthMonths/ deve trazer só quem nasceu nos meses pedidos")
+        public void testarBuscaPorMeses() throws Exception {
+                // Arrange
+                String url = "/clients/birthMonths/?months=12&linesPerPage=50";
+
+                // Act
+                JsonNode conteudo = conteudo(url);
+
+                // Assert
+                List<String> nomes = nomes(conteudo);
+                assertTrue(nomes.contains("Lázaro Ramos"));
+                assertTrue(nomes.contains("Carolina Maria de Jesus"));
+                assertTrue(nomes.contains("Jose Saramago"));
+                conteudo.forEach(c -> assertEquals(12, mes(c)));
+        }
+
+        @Test
+        @DisplayName("PUT que muda a data de nascimento deve atualizar o mês usado na busca")
+        public void testarMesAtualizadoNoUpdate() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Jorge Amado\",\"cpf\":\"10204374161\",\"income\":2500.0,"
+                        + "\"birthDate\":\"1912-08-10T07:00:00Z\",\"children\":0}";
+
+                // Act
+                mockMvc.perform(put("/clients/{id}", 12L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+
+                // Assert
+                assertTrue(nomes(conteudo("/clients/birthMonths/?months=8&linesPerPage=50")).contains("Jorge Amado"));
+                assertFalse(nomes(conteudo("/clients/birthMonths/?months=9&linesPerPage=50")).contains("Jorge Amado"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/ageLessThan/ deve trazer cliente recém-inserido com o ano preenchido no insert")
+        public void testarIdadeMenorQue() throws Exception {
+                // Arrange
+                String nascimento = LocalDate.now(ZoneOffset.UTC).withDayOfYear(1).atStartOfDay(ZoneOffset.UTC)
+                        .toInstant().toString();
+                String json = "{\"name\":\"Bebê Recente\",\"cpf\":\"55566677788\",\"income\":0.0,"
+                        + "\"birthDate\":\"" + nascimento + "\",\"children\":0}";
+                mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated());
+
+                // Act
+                JsonNode conteudo = conteudo("/clients/ageLessThan/?age=1&linesPerPage=50");
+
+                // Assert
+                assertTrue(nomes(conteudo).contains("Bebê Recente"));
+                assertFalse(nomes(conteudo).contains("Jorge Amado"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/birthDateBetween/ deve paginar o intervalo de datas")
+        public void testarIntervaloDeDatas() throws Exception {
+                // Arrange
+                String url = "/clients/birthDateBetween/?start=1956-01-01T00:00:00Z&end=1956-12-31T23:59:59Z"
+                        + "&orderBy=name";
+
+                // Act / Assert
+                mockMvc.perform(get(url)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(2))
+                        .andExpect(jsonPath("$.content[0].name").value("Chimamanda Adichie"))
+                        .andExpect(jsonPath("$.content[1].name").value("Yuval Noah Harari"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/birthMonths/ com mês inválido deve retornar 400")
+        public void testarMesInvalido() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/birthMonths/?months=13")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,122 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceBitmapTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                indexMaintainer.rebuild();
+        }
+
+        private JsonNode facets(String childrenMin) throws Exception {
+                String json = mockMvc.perform(get("/clients/facets")
+                        .param("childrenMin", childrenMin)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(json);
+        }
+
+        @Test
+        @DisplayName("GET /clients/children/ ordenado por id deve paginar direto pelo bitmap")
+        public void testarFilhosOrdenadoPorId() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/children/")
+                        .param("children", "0")
+                        .param("orderBy", "id")
+                        .param("page", "1")
+                        .param("linesPerPage", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(6))
+                        .andExpect(jsonPath("$.content[0].id").value(8))
+                        .andExpect(jsonPath("$.content[1].id").value(9));
+        }
+
+        @Test
+        @DisplayName("Bitmaps devem acompanhar insert e delete em filhos, mês e faixa de renda")
+        public void testarManutencaoDosBitmaps() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Milton Santos\",\"cpf\":\"12312312312\",\"income\":3000.0,"
+                        + "\"birthDate\":\"1926-05-03T07:00:00Z\",\"children\":9}";
+
+                // Act
+                String criado = mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                long id = objectMapper.readTree(criado).get("id").asLong();
+                JsonNode depois = facets("9");
+
+                // Assert
+                assertEquals(1, depois.get("count").asLong());
+                assertEquals(1, depois.get("birthMonthCounts").get("5").asLong());
+                assertEquals(1, depois.get("incomeBucketCounts").get("2500-5000").asLong());
+                assertEquals(0, depois.get("incomeBucketCounts").get("0-1000").asLong());
+                mockMvc.perform(get("/clients/childrenBetween/")
+                        .param("min", "8")
+                        .param("max", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].name").value("Milton Santos"));
+
+                mockMvc.perform(delete("/clients/{id}", id))
+                        .andExpect(status().isNoContent());
+                assertEquals(0, facets("9").get("count").asLong());
+        }
+
+        @Test
+        @DisplayName("GET /clients/facets com faixa de renda desconhecida deve retornar 400")
+        public void testarFaixaDesconhecida() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/facets")
+                        .param("incomeBucket", "1-2")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("GET /clients/childrenBetween/ com faixa invertida deve retornar 400")
+        public void testarFaixaInvertida() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/childrenBetween/")
+                        .param("min", "3")
+                        .param("max", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,83 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+/* H2 separado: ao fechar, este contexto não apaga as tabelas do contexto padrão em cache */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:bulkdelete",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceBulkDeleteTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        public void setUp() {
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        }
+
+        @Test
+        @DisplayName("DELETE /clients?incomeGreaterThan= deve remover com um único DELETE, sem carregar entidades")
+        public void testarDeletePorRenda() throws Exception {
+                // Arrange
+                mockMvc.perform(get("/clients/id/{id}", 8L)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+                statistics.clear();
+
+                // Act
+                mockMvc.perform(delete("/clients")
+                        .param("incomeGreaterThan", "9000")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.deleted").value(1));
+
+                // Assert
+                assertEquals(2, statistics.getPrepareStatementCount());
+                assertEquals(0, statistics.getEntityLoadCount());
+                assertEquals(0, statistics.getEntityDeleteCount());
+                mockMvc.perform(get("/clients/id/{id}", 8L)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("DELETE /clients/{id} deve emitir só o DELETE, sem SELECT antes")
+        public void testarDeletePorId() throws Exception {
+                // Arrange
+                statistics.clear();
+
+                // Act
+                mockMvc.perform(delete("/clients/{id}", 9L))
+                        .andExpect(status().isNoContent());
+
+                // Assert
+                assertEquals(1, statistics.getPrepareStatementCount());
+                assertEquals(0, statistics.getEntityLoadCount());
+                mockMvc.perform(delete("/clients/{id}", 9L))
+                        .andExpect(status().isNotFound());
+        }
+}
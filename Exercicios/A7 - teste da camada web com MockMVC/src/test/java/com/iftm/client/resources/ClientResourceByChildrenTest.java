@@ -0,0 +1,49 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceByChildrenTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Testar a paginação no banco do findClientByChildrenGreaterThanEqualOrderByNameAsc")
+        public void testarFindClientByChildrenGreaterThanEqualSegundaPagina() throws Exception {
+                // Arrange
+                int quantidadeFilhos = 2;
+                int totalDeElementosEsperado = 5;
+                int linhasPorPaginaEsperadas = 2;
+
+                // Act
+                ResultActions resultados = mockMvc.perform(get("/clients/byChildren/")
+                        .param("children", String.valueOf(quantidadeFilhos))
+                        .param("page", "1")
+                        .param("linesPerPage", String.valueOf(linhasPorPaginaEsperadas))
+                        .accept(MediaType.APPLICATION_JSON));
+
+                // Assert
+                resultados
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(linhasPorPaginaEsperadas))
+                        .andExpect(jsonPath("$.totalElements").value(totalDeElementosEsperado))
+                        .andExpect(jsonPath("$.totalPages").value(3))
+                        .andExpect(jsonPath("$.number").value(1))
+                        .andExpect(jsonPath("$.first").value(false))
+                        .andExpect(jsonPath("$.last").value(false))
+                        .andExpect(jsonPath("$.content[0].name").value("Gilberto Gil"))
+                        .andExpect(jsonPath("$.content[1].name").value("Lázaro Ramos"));
+        }
+}
@@ -0,0 +1,198 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceCompactTest {
+        private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        private JsonNode paginaJson() throws Exception {
+                String json = mockMvc.perform(get("/clients")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(json);
+        }
+
+        @Test
+        @DisplayName("GET /clients?envelope=compact deve trazer só content, next e total")
+        public void testarEnvelopeCompacto() throws Exception {
+                // Arrange
+                long total = paginaJson().get("totalElements").asLong();
+
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("envelope", "compact")
+                        .param("linesPerPage", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(5))
+                        .andExpect(jsonPath("$.next").value("1"))
+                        .andExpect(jsonPath("$.total").value(total))
+                        .andExpect(jsonPath("$.pageable").doesNotExist())
+                        .andExpect(jsonPath("$.sort").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("envelope=compact deve combinar com fields= e ter next nulo na última página")
+        public void testarEnvelopeCompactoComCampos() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/income/")
+                        .param("income", "7500")
+                        .param("envelope", "compact")
+                        .param("fields", "id,name")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.total").value(1))
+                        .andExpect(jsonPath("$.next").isEmpty())
+                        .andExpect(jsonPath("$.content[0].name").value("Carolina Maria de Jesus"))
+                        .andExpect(jsonPath("$.content[0].cpf").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("envelope=compact com fields= e slice=false deve paginar por offset com projeção")
+        public void testarEnvelopeCompactoComCamposESliceFalse() throws Exception {
+                // Arrange
+                long total = paginaJson().get("totalElements").asLong();
+
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("envelope", "compact")
+                        .param("fields", "id,name")
+                        .param("slice", "false")
+                        .param("linesPerPage", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(5))
+                        .andExpect(jsonPath("$.content[0].name").exists())
+                        .andExpect(jsonPath("$.content[0].cpf").doesNotExist())
+                        .andExpect(jsonPath("$.next").value("1"))
+                        .andExpect(jsonPath("$.total").value(total));
+        }
+
+        @Test
+        @DisplayName("GET /clients/byChildren?envelope=compact deve usar o mesmo envelope das outras listagens")
+        public void testarEnvelopeCompactoPorFilhos() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/byChildren")
+                        .param("children", "2")
+                        .param("linesPerPage", "2")
+                        .param("envelope", "compact")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(2))
+                        .andExpect(jsonPath("$.next").value("1"))
+                        .andExpect(jsonPath("$.total").value(5))
+                        .andExpect(jsonPath("$.pageable").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("envelope desconhecido ou cursor= com slice=true deve retornar 400")
+        public void testarCombinacaoInvalida() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("envelope", "tiny")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/clients/cpf/")
+                        .param("cpf", "4488")
+                        .param("cursor", "")
+                        .param("slice", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("envelope=compact no modo cursor deve trazer em next o mesmo token do nextCursor")
+        public void testarEnvelopeCompactoComCursor() throws Exception {
+                // Arrange
+                String json = mockMvc.perform(get("/clients")
+                        .param("cursor", "")
+                        .param("linesPerPage", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                String nextCursor = objectMapper.readTree(json).get("nextCursor").asText();
+
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("cursor", "")
+                        .param("linesPerPage", "5")
+                        .param("envelope", "compact")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(5))
+                        .andExpect(jsonPath("$.next").value(nextCursor))
+                        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Accept application/cbor deve devolver a mesma página em CBOR")
+        public void testarCbor() throws Exception {
+                // Arrange
+                JsonNode json = paginaJson();
+
+                // Act
+                byte[] cbor = mockMvc.perform(get("/clients")
+                        .accept(MediaType.APPLICATION_CBOR))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                        .andReturn().getResponse().getContentAsByteArray();
+
+                // Assert
+                JsonNode lido = new ObjectMapper(new CBORFactory()).readTree(cbor);
+                assertEquals(json.get("totalElements").asLong(), lido.get("totalElements").asLong());
+                assertEquals(json.get("content").get(0).get("name"), lido.get("content").get(0).get("name"));
+        }
+
+        @Test
+        @DisplayName("Accept application/x-jackson-smile com envelope compacto deve ser menor que o JSON")
+        public void testarSmile() throws Exception {
+                // Arrange
+                byte[] json = mockMvc.perform(get("/clients")
+                        .param("envelope", "compact")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsByteArray();
+
+                // Act
+                byte[] smile = mockMvc.perform(get("/clients")
+                        .param("envelope", "compact")
+                        .accept(SMILE))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(SMILE))
+                        .andReturn().getResponse().getContentAsByteArray();
+
+                // Assert
+                JsonNode lido = new ObjectMapper(new SmileFactory()).readTree(smile);
+                JsonNode esperado = objectMapper.readTree(json).get("content");
+                assertEquals(esperado.size(), lido.get("content").size());
+                assertEquals(esperado.get(0).get("name"), lido.get("content").get(0).get("name"));
+                assertTrue(smile.length < json.length);
+        }
+}
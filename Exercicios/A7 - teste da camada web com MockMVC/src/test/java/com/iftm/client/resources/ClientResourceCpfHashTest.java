@@ -0,0 +1,86 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceCpfHashTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                indexMaintainer.rebuild();
+        }
+
+        @Test
+        @DisplayName("GET /clients/byCpf deve retornar todos os clientes com o cpf, e lista vazia para cpf inexistente")
+        public void testarBuscaExata() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Gilberto Passos Gil\",\"cpf\":\"10419344882\",\"income\":2500.0,"
+                        + "\"birthDate\":\"1942-06-26T07:00:00Z\",\"children\":8}";
+                mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated());
+
+                // Act
+                mockMvc.perform(get("/clients/byCpf")
+                        .param("cpf", "10419344882")
+                        .accept(MediaType.APPLICATION_JSON))
+                // Assert
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(2))
+                        .andExpect(jsonPath("$[0].name").value("Gilberto Gil"))
+                        .andExpect(jsonPath("$[1].name").value("Gilberto Passos Gil"));
+
+                mockMvc.perform(get("/clients/byCpf")
+                        .param("cpf", "00000000000")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("DELETE /clients?cpf= deve remover todos os clientes com o cpf e retornar a quantidade")
+        public void testarDeletePorCpf() throws Exception {
+                // Act
+                mockMvc.perform(delete("/clients")
+                        .param("cpf", "10239254871")
+                        .accept(MediaType.APPLICATION_JSON))
+                // Assert
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.deleted").value(1));
+
+                mockMvc.perform(get("/clients/byCpf")
+                        .param("cpf", "10239254871")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(0));
+
+                mockMvc.perform(get("/clients/id/{id}", 7L)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotFound());
+        }
+}
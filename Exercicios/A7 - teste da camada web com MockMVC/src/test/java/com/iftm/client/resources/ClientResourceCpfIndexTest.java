@@ -0,0 +1,100 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceCpfIndexTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                // carga síncrona: garante que as buscas passem pelo índice e não pelo LIKE
+                indexMaintainer.rebuild();
+        }
+
+        @Test
+        @DisplayName("Busca de cpf por trecho pelo índice deve trazer os mesmos clientes do LIKE")
+        public void testarTrechoPeloIndice() throws Exception {
+                mockMvc.perform(get("/clients/cpf/")
+                        .param("cpf", "1934")
+                        .param("orderBy", "id")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(2))
+                        .andExpect(jsonPath("$.content[0].name").value("Gilberto Gil"))
+                        .andExpect(jsonPath("$.content[1].name").value("Toni Morrison"));
+        }
+
+        @Test
+        @DisplayName("Busca de cpf por trecho com menos de três dígitos deve funcionar sem trigrama")
+        public void testarTrechoCurto() throws Exception {
+                mockMvc.perform(get("/clients/cpf/")
+                        .param("cpf", "77")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].name").value("Carolina Maria de Jesus"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/cpfStartingWith/ deve considerar só o início do cpf")
+        public void testarPrefixo() throws Exception {
+                mockMvc.perform(get("/clients/cpfStartingWith/")
+                        .param("cpf", "1041")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(2))
+                        .andExpect(jsonPath("$.content[0].name").value("Carolina Maria de Jesus"))
+                        .andExpect(jsonPath("$.content[1].name").value("Gilberto Gil"));
+
+                mockMvc.perform(get("/clients/cpfStartingWith/")
+                        .param("cpf", "1924")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(0));
+        }
+
+        @Test
+        @DisplayName("Cliente inserido deve aparecer na busca pelo índice sem nova carga")
+        public void testarInsertAtualizaIndice() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Paulo Freire\",\"cpf\":\"98765432100\",\"income\":3000.0,"
+                        + "\"birthDate\":\"1921-09-19T07:00:00Z\",\"children\":5}";
+
+                // Act
+                mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated());
+
+                // Assert
+                mockMvc.perform(get("/clients/cpf/")
+                        .param("cpf", "6543")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].name").value("Paulo Freire"));
+        }
+}
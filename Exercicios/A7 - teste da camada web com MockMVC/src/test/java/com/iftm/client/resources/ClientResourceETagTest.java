@@ -0,0 +1,104 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceETagTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("GET /clients/id/{id} com If-None-Match igual ao ETag deve retornar 304 sem corpo")
+        public void testarNaoModificadoPorId() throws Exception {
+                // Arrange
+                String etag = mockMvc.perform(get("/clients/id/{id}", 5L)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"5-0\""))
+                        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                // Act / Assert
+                mockMvc.perform(get("/clients/id/{id}", 5L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotModified())
+                        .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("GET /clients deve retornar 304 até a próxima escrita")
+        public void testarNaoModificadoPagina() throws Exception {
+                // Arrange
+                String etag = mockMvc.perform(get("/clients")
+                        .param("page", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+                assertNotNull(etag);
+                mockMvc.perform(get("/clients")
+                        .param("page", "0")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotModified());
+                String json = "{\"name\":\"Lélia Gonzalez\",\"cpf\":\"33344455566\",\"income\":3000.0,"
+                        + "\"birthDate\":\"1935-02-01T07:00:00Z\",\"children\":1}";
+
+                // Act
+                mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated());
+                String novo = mockMvc.perform(get("/clients")
+                        .param("page", "0")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                // Assert
+                assertNotEquals(etag, novo);
+        }
+
+        @Test
+        @DisplayName("PUT /clients/{id} com If-Match desatualizado deve retornar 412")
+        public void testarIfMatch() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Clarice Lispector\",\"cpf\":\"10919444522\",\"income\":3900.0,"
+                        + "\"birthDate\":\"1920-12-10T07:00:00Z\",\"children\":2}";
+                mockMvc.perform(put("/clients/{id}", 3L)
+                        .header(HttpHeaders.IF_MATCH, "\"3-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"3-1\""));
+
+                // Act / Assert
+                mockMvc.perform(put("/clients/{id}", 3L)
+                        .header(HttpHeaders.IF_MATCH, "\"3-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isPreconditionFailed());
+        }
+}
@@ -0,0 +1,85 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceExportTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        @DisplayName("GET /clients/export deve gerar uma linha NDJSON por cliente")
+        public void testarExportacaoNdjson() throws Exception {
+                // Arrange
+                long totalClientes = totalClientes();
+
+                // Act
+                String ndjson = mockMvc.perform(get("/clients/export"))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+                // Assert
+                String[] linhas = ndjson.split("\n");
+                assertEquals(totalClientes, linhas.length);
+                assertEquals(true, objectMapper.readTree(linhas[0]).has("cpf"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/export em CSV com gzip deve gerar cabeçalho e uma linha por cliente")
+        public void testarExportacaoCsvGzip() throws Exception {
+                // Arrange
+                long totalClientes = totalClientes();
+
+                // Act
+                byte[] corpo = mockMvc.perform(get("/clients/export")
+                        .param("format", "csv")
+                        .param("gzip", "true"))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string("Content-Encoding", "gzip"))
+                        .andReturn().getResponse().getContentAsByteArray();
+
+                // Assert
+                String csv;
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+                        csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                String[] linhas = csv.split("\n");
+                assertEquals("id,name,cpf,income,birth_date,children", linhas[0]);
+                assertEquals(totalClientes + 1, linhas.length);
+        }
+
+        @Test
+        @DisplayName("Formato de exportação desconhecido deve retornar 400")
+        public void testarFormatoInvalido() throws Exception {
+                mockMvc.perform(get("/clients/export").param("format", "xml"))
+                        .andExpect(status().isBadRequest());
+        }
+
+        private long totalClientes() throws Exception {
+                String json = mockMvc.perform(get("/clients/").accept(MediaType.APPLICATION_JSON))
+                        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+                return objectMapper.readTree(json).get("totalElements").asLong();
+        }
+}
@@ -0,0 +1,135 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceFieldsTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        @DisplayName("GET /clients?fields=id,name deve trazer só id e name, com os mesmos valores da página completa")
+        public void testarProjecaoIdNome() throws Exception {
+                // Arrange
+                String completo = mockMvc.perform(get("/clients")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+
+                // Act
+                String projetado = mockMvc.perform(get("/clients")
+                        .param("fields", "id,name")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+
+                // Assert
+                JsonNode esperado = objectMapper.readTree(completo);
+                JsonNode obtido = objectMapper.readTree(projetado);
+                assertEquals(esperado.get("totalElements"), obtido.get("totalElements"));
+                assertEquals(esperado.get("content").size(), obtido.get("content").size());
+                for (int i = 0; i < obtido.get("content").size(); i++) {
+                        JsonNode linha = obtido.get("content").get(i);
+                        List<String> nomes = new ArrayList<>();
+                        linha.fieldNames().forEachRemaining(nomes::add);
+                        assertEquals(Arrays.asList("id", "name"), nomes);
+                        assertEquals(esperado.get("content").get(i).get("id"), linha.get("id"));
+                        assertEquals(esperado.get("content").get(i).get("name"), linha.get("name"));
+                }
+        }
+
+        @Test
+        @DisplayName("GET /clients/income/?fields=cpf,income deve projetar também as listagens filtradas")
+        public void testarProjecaoPorRenda() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/income/")
+                        .param("income", "7500")
+                        .param("fields", "cpf,income")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].cpf").value("10419244771"))
+                        .andExpect(jsonPath("$.content[0].income").value(7500.0))
+                        .andExpect(jsonPath("$.content[0].name").doesNotExist())
+                        .andExpect(jsonPath("$.content[0].id").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("GET /clients?fields= com campo desconhecido deve retornar 400")
+        public void testarCampoDesconhecido() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("fields", "id,password")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("fields= com cursor= ou slice=true deve retornar 400 em vez de ser ignorado")
+        public void testarCamposComCursorOuSlice() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("fields", "id,name")
+                        .param("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/clients/income/")
+                        .param("income", "1500")
+                        .param("fields", "id,name")
+                        .param("slice", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("fields= com slice=false deve seguir a paginação por offset com projeção")
+        public void testarCamposComSliceFalse() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients")
+                        .param("fields", "id,name")
+                        .param("slice", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").exists())
+                        .andExpect(jsonPath("$.content[0].name").exists())
+                        .andExpect(jsonPath("$.content[0].cpf").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("GET /clients/byChildren?fields=name,children deve projetar mantendo a ordem por nome")
+        public void testarProjecaoPorFilhos() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/byChildren")
+                        .param("children", "2")
+                        .param("fields", "name,children")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(5))
+                        .andExpect(jsonPath("$.content[0].name").value("Clarice Lispector"))
+                        .andExpect(jsonPath("$.content[1].name").value("Conceição Evaristo"))
+                        .andExpect(jsonPath("$.content[0].children").value(2))
+                        .andExpect(jsonPath("$.content[0].id").doesNotExist());
+        }
+}
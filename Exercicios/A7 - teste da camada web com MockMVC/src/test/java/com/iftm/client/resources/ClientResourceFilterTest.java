@@ -0,0 +1,65 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceFilterTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("GET /clients/filter deve combinar renda, filhos e nome numa só consulta")
+        public void testarFiltroRendaFilhosNome() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/filter")
+                        .param("incomeMin", "2000")
+                        .param("incomeMax", "3000")
+                        .param("childrenMax", "0")
+                        .param("name", "AMADO")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].name").value("Jorge Amado"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/filter deve combinar nascimento, filhos e renda ordenando por renda")
+        public void testarFiltroNascimentoOrdenadoPorRenda() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/filter")
+                        .param("birthStart", "1950-01-01T00:00:00Z")
+                        .param("birthEnd", "1999-12-31T23:59:59Z")
+                        .param("childrenMin", "1")
+                        .param("incomeMax", "5000")
+                        .param("orderBy", "income")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(4))
+                        .andExpect(jsonPath("$.content[0].name").value("Lázaro Ramos"))
+                        .andExpect(jsonPath("$.content[1].name").value("Clarice Lispector"))
+                        .andExpect(jsonPath("$.content[2].name").value("Djamila Ribeiro"))
+                        .andExpect(jsonPath("$.content[3].name").value("Silvio Almeida"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/filter com faixa invertida deve retornar 400")
+        public void testarFaixaInvertida() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/filter")
+                        .param("childrenMin", "3")
+                        .param("childrenMax", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,61 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceFuzzyTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                indexMaintainer.rebuild();
+        }
+
+        @Test
+        @DisplayName("GET /clients/name/fuzzy deve achar o nome mesmo com erro de digitação e sem acento")
+        public void testarBuscaComErro() throws Exception {
+                mockMvc.perform(get("/clients/name/fuzzy")
+                        .param("name", "Lazaro Ramoz")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[0].id").value(2))
+                        .andExpect(jsonPath("$[0].name").value("Lázaro Ramos"))
+                        .andExpect(jsonPath("$[0].similarity").isNumber());
+
+                mockMvc.perform(get("/clients/name/fuzzy")
+                        .param("name", "Clarisse Lispetor")
+                        .param("k", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].name").value("Clarice Lispector"));
+        }
+
+        @Test
+        @DisplayName("Nome sem semelhança com nenhum cliente deve retornar lista vazia")
+        public void testarSemSemelhanca() throws Exception {
+                mockMvc.perform(get("/clients/name/fuzzy")
+                        .param("name", "Xwqz")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(0));
+        }
+}
@@ -0,0 +1,116 @@
+package com.iftm.client.resources;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceImportTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("POST /clients/import deve carregar as linhas válidas do CSV e reportar as rejeitadas")
+        public void testarCargaCsv() throws Exception {
+                // Arrange
+                String csv = "name,cpf,income,birth_date,children\n"
+                        + "\"Assis, Machado de\",55566677788,3000.0,1939-06-21,0\n"
+                        + "Cpf Curto,123,1000.0,1990-01-01,1\n"
+                        + "Cecília Meireles,55566677799,4000.5,1901-11-07T10:00:00Z,3\n";
+
+                // Act
+                mockMvc.perform(post("/clients/import")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8))
+                        .accept(MediaType.APPLICATION_JSON))
+                // Assert
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.read").value(3))
+                        .andExpect(jsonPath("$.inserted").value(2))
+                        .andExpect(jsonPath("$.rejected").value(1))
+                        .andExpect(jsonPath("$.rejectedLines[0]").value("line 3: cpf must have 11 digits"))
+                        .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+
+                mockMvc.perform(get("/clients/cpf/")
+                        .param("cpf", "55566677788")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].name").value("Assis, Machado de"));
+        }
+
+        @Test
+        @DisplayName("Campo entre aspas com quebra de linha deve ser lido como um registro só")
+        public void testarCampoComQuebraDeLinha() throws Exception {
+                // Arrange
+                String csv = "name,cpf,income,birth_date,children\n"
+                        + "\"Maria Firmina\ndos Reis\",55566677722,2000.0,1822-03-11,0\n"
+                        + "Cpf Curto,123,1000.0,1990-01-01,1\n";
+
+                // Act
+                mockMvc.perform(post("/clients/import")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8))
+                        .accept(MediaType.APPLICATION_JSON))
+                // Assert
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.read").value(2))
+                        .andExpect(jsonPath("$.inserted").value(1))
+                        .andExpect(jsonPath("$.rejectedLines[0]").value("line 4: cpf must have 11 digits"));
+
+                mockMvc.perform(get("/clients/cpf/")
+                        .param("cpf", "55566677722")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content[0].name").value("Maria Firmina\ndos Reis"));
+        }
+
+        @Test
+        @DisplayName("CSV sem uma coluna obrigatória deve retornar 400")
+        public void testarCsvSemColuna() throws Exception {
+                mockMvc.perform(post("/clients/import")
+                        .contentType("text/csv")
+                        .content("name,cpf,income\nFulano,55566677700,1000.0\n")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Bloco recusado pelo banco deve entrar no relatório como rejeitado, sem abortar a carga")
+        public void testarBlocoRecusadoPeloBanco() throws Exception {
+                // Arrange
+                StringBuilder nomeLongo = new StringBuilder();
+                for (int i = 0; i < 300; i++) {
+                        nomeLongo.append('x');
+                }
+                String csv = "name,cpf,income,birth_date,children\n"
+                        + nomeLongo + ",55566677711,1000.0,1990-01-01,0\n";
+
+                // Act
+                mockMvc.perform(post("/clients/import")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8))
+                        .accept(MediaType.APPLICATION_JSON))
+                // Assert
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.read").value(1))
+                        .andExpect(jsonPath("$.inserted").value(0))
+                        .andExpect(jsonPath("$.rejected").value(1))
+                        .andExpect(jsonPath("$.rejectedLines[0]").value(startsWith("line 2: chunk rolled back")));
+        }
+}
@@ -0,0 +1,138 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceIncomeCentsTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        @DisplayName("GET /clients/income/ deve achar renda com centavos pelo valor exato")
+        public void testarIgualdadeComCentavos() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Abdias Nascimento\",\"cpf\":\"44455566677\",\"income\":1234.56,"
+                        + "\"birthDate\":\"1914-03-14T07:00:00Z\",\"children\":1}";
+                mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated())
+                        .andExpect(jsonPath("$.income").value(1234.56));
+
+                // Act / Assert
+                mockMvc.perform(get("/clients/income/")
+                        .param("income", "1234.56")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.totalElements").value(1))
+                        .andExpect(jsonPath("$.content[0].name").value("Abdias Nascimento"))
+                        .andExpect(jsonPath("$.content[0].income").value(1234.56));
+        }
+
+        @Test
+        @DisplayName("GET /clients/incomeMultipleOf/ deve trazer só rendas múltiplas do valor")
+        public void testarMultiploDeRenda() throws Exception {
+                // Act
+                String resposta = mockMvc.perform(get("/clients/incomeMultipleOf/")
+                        .param("value", "2500")
+                        .param("linesPerPage", "50")
+                        .param("orderBy", "income")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                JsonNode content = objectMapper.readTree(resposta).get("content");
+
+                // Assert
+                assertTrue(content.size() >= 6);
+                double anterior = 0;
+                for (JsonNode client : content) {
+                        double renda = client.get("income").asDouble();
+                        assertEquals(0.0, renda % 2500.0);
+                        assertTrue(renda >= anterior);
+                        anterior = renda;
+                }
+        }
+
+        @Test
+        @DisplayName("GET /clients/incomeMultipleOf/ com valor menor que um centavo deve retornar 400")
+        public void testarMultiploInvalido() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/incomeMultipleOf/")
+                        .param("value", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("GET /clients/income/ com renda NaN, infinita ou fora da faixa deve retornar 400")
+        public void testarRendaNaoFinita() throws Exception {
+                // Act / Assert
+                for (String renda : new String[] { "NaN", "Infinity", "1e300" }) {
+                        mockMvc.perform(get("/clients/income/")
+                                .param("income", renda)
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isBadRequest());
+                }
+        }
+
+        @Test
+        @DisplayName("POST /clients com renda fora da faixa de centavos deve retornar 400")
+        public void testarRendaForaDaFaixaNoCorpo() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Lélia Gonzalez\",\"cpf\":\"99988877766\",\"income\":1e300,"
+                        + "\"birthDate\":\"1935-02-01T07:00:00Z\",\"children\":0}";
+
+                // Act / Assert
+                mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST /clients sem renda deve manter a renda nula")
+        public void testarRendaNula() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Beatriz Nascimento\",\"cpf\":\"55566677788\","
+                        + "\"birthDate\":\"1942-07-12T07:00:00Z\",\"children\":1}";
+
+                // Act
+                String criado = mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                long id = objectMapper.readTree(criado).get("id").asLong();
+
+                // Assert
+                mockMvc.perform(get("/clients/id/{id}", id)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.income").doesNotExist());
+        }
+}
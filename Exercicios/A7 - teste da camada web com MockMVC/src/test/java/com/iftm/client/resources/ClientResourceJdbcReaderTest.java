@@ -0,0 +1,64 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceJdbcReaderTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        @DisplayName("GET /clients com reader=jdbc deve retornar a mesma página que o caminho JPA")
+        public void testarLeituraJdbcIgualJpa() throws Exception {
+                // Act
+                JsonNode jpa = buscar("/clients/", "jpa", null);
+                JsonNode jdbc = buscar("/clients/", "jdbc", null);
+
+                // Assert
+                assertEquals(jpa.get("content"), jdbc.get("content"));
+                assertEquals(jpa.get("totalElements"), jdbc.get("totalElements"));
+                assertEquals(jpa.get("totalPages"), jdbc.get("totalPages"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/cpf/ com reader=jdbc deve retornar a mesma página que o caminho JPA")
+        public void testarLeituraJdbcCpfIgualJpa() throws Exception {
+                // Act
+                JsonNode jpa = buscar("/clients/cpf/", "jpa", "61");
+                JsonNode jdbc = buscar("/clients/cpf/", "jdbc", "61");
+
+                // Assert
+                assertEquals(jpa.get("content"), jdbc.get("content"));
+                assertEquals(jpa.get("totalElements"), jdbc.get("totalElements"));
+        }
+
+        private JsonNode buscar(String uri, String reader, String cpf) throws Exception {
+                String json = mockMvc.perform(get(uri)
+                        .param("reader", reader)
+                        .param("linesPerPage", "5")
+                        .param("page", "1")
+                        .param("orderBy", "name")
+                        .param("cpf", cpf == null ? "" : cpf)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(json);
+        }
+}
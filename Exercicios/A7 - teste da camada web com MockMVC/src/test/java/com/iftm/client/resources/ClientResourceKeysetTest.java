@@ -0,0 +1,161 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceKeysetTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        @DisplayName("Percorrer GET /clients por cursor deve entregar todos os clientes, sem repetir, na ordem")
+        public void testarPaginacaoPorCursorPercorreTodosOsClientes() throws Exception {
+                // Arrange
+                String json = mockMvc.perform(get("/clients/")
+                        .param("linesPerPage", "1000")
+                        .param("orderBy", "income")
+                        .param("direction", "DESC")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andReturn().getResponse().getContentAsString();
+                JsonNode paginaOffset = objectMapper.readTree(json);
+                List<Long> idsEsperados = new ArrayList<>();
+                paginaOffset.get("content").forEach(c -> idsEsperados.add(c.get("id").asLong()));
+
+                // Act
+                List<Long> idsCursor = new ArrayList<>();
+                String cursor = "";
+                int paginas = 0;
+                while (cursor != null) {
+                        String resposta = mockMvc.perform(get("/clients/")
+                                .param("cursor", cursor)
+                                .param("linesPerPage", "5")
+                                .param("orderBy", "income")
+                                .param("direction", "DESC")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                        JsonNode pagina = objectMapper.readTree(resposta);
+                        pagina.get("content").forEach(c -> idsCursor.add(c.get("id").asLong()));
+                        cursor = pagina.get("nextCursor").isNull() ? null : pagina.get("nextCursor").asText();
+                        paginas++;
+                }
+
+                // Assert
+                assertEquals(idsEsperados.size(), idsCursor.size());
+                assertEquals(idsCursor.size(), new HashSet<>(idsCursor).size());
+                assertEquals(new HashSet<>(idsEsperados), new HashSet<>(idsCursor));
+                assertTrue(paginas >= idsCursor.size() / 5);
+        }
+
+        @Test
+        @DisplayName("Cursor inválido deve retornar 400")
+        public void testarCursorInvalidoRetorna400() throws Exception {
+                mockMvc.perform(get("/clients/")
+                        .param("cursor", "@@nao-e-um-cursor@@")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest())
+                        .andExpect(jsonPath("$.error").value("Bad request"));
+        }
+
+        @Test
+        @DisplayName("orderBy não suportado no modo cursor deve retornar 400")
+        public void testarOrderByInvalidoRetorna400() throws Exception {
+                mockMvc.perform(get("/clients/")
+                        .param("cursor", "")
+                        .param("orderBy", "cpf")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Cursor de uma listagem usado em outro filtro deve retornar 400")
+        public void testarCursorDeOutroFiltroRetorna400() throws Exception {
+                // Arrange
+                String resposta = mockMvc.perform(get("/clients/income/")
+                        .param("income", "1500")
+                        .param("cursor", "")
+                        .param("linesPerPage", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                String cursor = objectMapper.readTree(resposta).get("nextCursor").asText();
+
+                // Act / Assert
+                mockMvc.perform(get("/clients/income/")
+                        .param("income", "2500")
+                        .param("cursor", cursor)
+                        .param("linesPerPage", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DirtiesContext
+        @DisplayName("Percorrer por cursor uma ordenação com valores nulos deve entregar também as linhas nulas")
+        public void testarPaginacaoPorCursorComRendaNula() throws Exception {
+                // Arrange
+                for (String cpf : new String[] { "66677788899", "77788899900" }) {
+                        mockMvc.perform(post("/clients")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Sem Renda\",\"cpf\":\"" + cpf + "\",\"children\":0}")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isCreated());
+                }
+                long total = objectMapper.readTree(mockMvc.perform(get("/clients/")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andReturn().getResponse().getContentAsString()).get("totalElements").asLong();
+
+                for (String direcao : new String[] { "ASC", "DESC" }) {
+                        // Act
+                        List<Long> ids = new ArrayList<>();
+                        int nulos = 0;
+                        String cursor = "";
+                        while (cursor != null) {
+                                String resposta = mockMvc.perform(get("/clients/")
+                                        .param("cursor", cursor)
+                                        .param("linesPerPage", "3")
+                                        .param("orderBy", "income")
+                                        .param("direction", direcao)
+                                        .accept(MediaType.APPLICATION_JSON))
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getContentAsString();
+                                JsonNode pagina = objectMapper.readTree(resposta);
+                                for (JsonNode c : pagina.get("content")) {
+                                        ids.add(c.get("id").asLong());
+                                        nulos += c.get("income").isNull() ? 1 : 0;
+                                }
+                                cursor = pagina.get("nextCursor").isNull() ? null : pagina.get("nextCursor").asText();
+                        }
+
+                        // Assert
+                        assertEquals(total, ids.size());
+                        assertEquals(ids.size(), new HashSet<>(ids).size());
+                        assertEquals(2, nulos);
+                }
+        }
+}
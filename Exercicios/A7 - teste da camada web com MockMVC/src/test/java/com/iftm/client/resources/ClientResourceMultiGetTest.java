@@ -0,0 +1,63 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ClientResourceMultiGetTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("GET /clients/ids deve devolver os clientes na ordem pedida e listar os ids inexistentes")
+        public void testarBuscaPorIds() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/ids")
+                        .param("ids", "5,9999,3,5")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(2))
+                        .andExpect(jsonPath("$.content[0].name").value("Gilberto Gil"))
+                        .andExpect(jsonPath("$.content[1].name").value("Clarice Lispector"))
+                        .andExpect(jsonPath("$.missing.length()").value(1))
+                        .andExpect(jsonPath("$.missing[0]").value(9999));
+        }
+
+        @Test
+        @DisplayName("POST /clients/lookup deve resolver a lista de cpfs e listar os não encontrados")
+        public void testarBuscaPorCpfs() throws Exception {
+                // Arrange
+                String json = "[\"10204374161\",\"00000000000\",\"10419244771\"]";
+
+                // Act / Assert
+                mockMvc.perform(post("/clients/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content[0].name").value("Jorge Amado"))
+                        .andExpect(jsonPath("$.content[1].name").value("Carolina Maria de Jesus"))
+                        .andExpect(jsonPath("$.missing[0]").value("00000000000"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/ids sem ids deve retornar 400")
+        public void testarListaVazia() throws Exception {
+                // Act / Assert
+                mockMvc.perform(get("/clients/ids")
+                        .param("ids", "")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,88 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourcePatchTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("PATCH /clients/{id} deve alterar só os campos enviados e incrementar a versão")
+        public void testarPatchParcial() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Silvio Luiz de Almeida\"}";
+
+                // Act / Assert
+                mockMvc.perform(patch("/clients/{id}", 11L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.name").value("Silvio Luiz de Almeida"))
+                        .andExpect(jsonPath("$.cpf").value("10164334861"))
+                        .andExpect(jsonPath("$.income").value(4500.0))
+                        .andExpect(jsonPath("$.children").value(2))
+                        .andExpect(jsonPath("$.version").value(1));
+        }
+
+        @Test
+        @DisplayName("PATCH /clients/{id} com versão desatualizada deve retornar 412")
+        public void testarPatchVersaoAntiga() throws Exception {
+                // Arrange
+                mockMvc.perform(patch("/clients/{id}", 6L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"children\":2,\"version\":0}")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.version").value(1));
+
+                // Act / Assert
+                mockMvc.perform(patch("/clients/{id}", 6L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"children\":3,\"version\":0}")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isPreconditionFailed())
+                        .andExpect(jsonPath("$.error").value("Precondition failed"));
+        }
+
+        @Test
+        @DisplayName("PUT /clients/{id} com versão desatualizada deve retornar 412")
+        public void testarPutVersaoAntiga() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Jorge Amado\",\"cpf\":\"10204374161\",\"income\":2500.0,"
+                        + "\"birthDate\":\"1912-08-10T07:00:00Z\",\"children\":0,\"version\":5}";
+
+                // Act / Assert
+                mockMvc.perform(put("/clients/{id}", 12L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        @DisplayName("PATCH /clients/{id} com id inexistente deve retornar 404")
+        public void testarPatchIdInexistente() throws Exception {
+                // Act / Assert
+                mockMvc.perform(patch("/clients/{id}", 9999L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ninguém\"}")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotFound());
+        }
+}
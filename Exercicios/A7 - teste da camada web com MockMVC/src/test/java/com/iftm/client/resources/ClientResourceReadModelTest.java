@@ -0,0 +1,170 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.services.events.ClientChangedEvent;
+
+/* banco próprio: o create-drop deste contexto não derruba as tabelas do contexto padrão em cache */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:readmodel", "client.readmodel.mode=sync",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceReadModelTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        public void setUp() throws Exception {
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                mockMvc.perform(post("/clients/readmodel/rebuild")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.mode").value("sync"))
+                        .andExpect(jsonPath("$.ready").value(true));
+        }
+
+        private JsonNode pagina(MockHttpServletRequestBuilder request) throws Exception {
+                String json = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(json);
+        }
+
+        /*
+         * A mesma listagem pelo modelo de leitura (sem SQL do Hibernate) e
+         * pelo caminho JDBC (reader=jdbc) deve trazer as mesmas linhas.
+         */
+        private void confereComJdbc(String url, String... params) throws Exception {
+                MockHttpServletRequestBuilder memoria = get(url);
+                MockHttpServletRequestBuilder jdbc = get(url).param("reader", "jdbc");
+                for (int i = 0; i < params.length; i += 2) {
+                        memoria.param(params[i], params[i + 1]);
+                        jdbc.param(params[i], params[i + 1]);
+                }
+                statistics.clear();
+                JsonNode esperado = pagina(jdbc);
+                JsonNode obtido = pagina(memoria);
+                assertEquals(0, statistics.getPrepareStatementCount());
+                assertEquals(esperado.get("totalElements"), obtido.get("totalElements"));
+                assertEquals(esperado.get("content"), obtido.get("content"));
+        }
+
+        @Test
+        @DisplayName("Listagens pelo modelo de leitura devem coincidir com o banco sem executar SQL")
+        public void testarListagensSemSql() throws Exception {
+                // Act / Assert
+                confereComJdbc("/clients", "orderBy", "name");
+                confereComJdbc("/clients", "orderBy", "name", "direction", "DESC", "page", "1", "linesPerPage", "5");
+                confereComJdbc("/clients/income/", "income", "1500", "orderBy", "name");
+                confereComJdbc("/clients/incomeGreaterThan/", "income", "5000", "orderBy", "income");
+                confereComJdbc("/clients/cpf/", "cpf", "4488", "direction", "DESC");
+        }
+
+        @Test
+        @DisplayName("GET /clients/byChildren deve vir do modelo de leitura ordenado por nome")
+        public void testarPorFilhos() throws Exception {
+                // Act
+                statistics.clear();
+                JsonNode content = pagina(get("/clients/byChildren").param("children", "2")).get("content");
+
+                // Assert
+                assertEquals(0, statistics.getPrepareStatementCount());
+                assertTrue(content.size() > 0);
+                for (int i = 0; i < content.size(); i++) {
+                        assertTrue(content.get(i).get("children").asInt() >= 2);
+                        if (i > 0) {
+                                assertTrue(content.get(i - 1).get("name").asText()
+                                        .compareTo(content.get(i).get("name").asText()) <= 0);
+                        }
+                }
+        }
+
+        @Test
+        @DisplayName("No modo sync a escrita deve aparecer na leitura seguinte")
+        public void testarEscritaSincrona() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Milton Santos\",\"cpf\":\"12312312312\",\"income\":77777.0,"
+                        + "\"birthDate\":\"1926-05-03T07:00:00Z\",\"children\":1}";
+                String criado = mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                long id = objectMapper.readTree(criado).get("id").asLong();
+
+                // Act
+                statistics.clear();
+                JsonNode depois = pagina(get("/clients/incomeGreaterThan/").param("income", "77000"));
+
+                // Assert
+                assertEquals(0, statistics.getPrepareStatementCount());
+                assertEquals(1, depois.get("totalElements").asLong());
+                assertEquals("Milton Santos", depois.get("content").get(0).get("name").asText());
+
+                mockMvc.perform(delete("/clients/{id}", id))
+                        .andExpect(status().isNoContent());
+                assertEquals(0, pagina(get("/clients/incomeGreaterThan/").param("income", "77000"))
+                        .get("totalElements").asLong());
+        }
+
+        @Test
+        @DisplayName("Evento atrasado de um cliente já removido não deve trazê-lo de volta")
+        public void testarEventoAtrasadoAposRemocao() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Abdias Nascimento\",\"cpf\":\"32132132132\",\"income\":88888.0,"
+                        + "\"birthDate\":\"1914-03-14T07:00:00Z\",\"children\":2}";
+                String criado = mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                ClientDTO antigo = objectMapper.readValue(criado, ClientDTO.class);
+                mockMvc.perform(delete("/clients/{id}", antigo.getId()))
+                        .andExpect(status().isNoContent());
+
+                // Act
+                eventPublisher.publishEvent(ClientChangedEvent.updated(antigo));
+
+                // Assert
+                assertEquals(0, pagina(get("/clients/incomeGreaterThan/").param("income", "88000"))
+                        .get("totalElements").asLong());
+        }
+}
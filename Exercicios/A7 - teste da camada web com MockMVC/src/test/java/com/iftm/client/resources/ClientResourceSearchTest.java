@@ -0,0 +1,114 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceSearchTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                indexMaintainer.rebuild();
+        }
+
+        @Test
+        @DisplayName("GET /clients/search deve ignorar acentos e maiúsculas")
+        public void testarBuscaSemAcento() throws Exception {
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "lazaro")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].name").value("Lázaro Ramos"));
+        }
+
+        @Test
+        @DisplayName("GET /clients/search deve casar prefixos e exigir todos os termos")
+        public void testarBuscaPorPrefixo() throws Exception {
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "car jes")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].name").value("Carolina Maria de Jesus"));
+        }
+
+        @Test
+        @DisplayName("Empate no ranking deve ser desfeito pelo id e k deve limitar o resultado")
+        public void testarRanking() throws Exception {
+                // "jo" é só prefixo de Jose e de Jorge, nomes do mesmo tamanho
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "jo")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(2))
+                        .andExpect(jsonPath("$[0].name").value("Jose Saramago"))
+                        .andExpect(jsonPath("$[1].name").value("Jorge Amado"));
+
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "jorge")
+                        .param("k", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].name").value("Jorge Amado"));
+        }
+
+        @Test
+        @DisplayName("Nome atualizado deve ser encontrado pelo novo nome e não pelo antigo")
+        public void testarUpdateAtualizaIndice() throws Exception {
+                // Arrange
+                String json = "{\"name\":\"Sueli Carneiro\",\"cpf\":\"10114274861\",\"income\":1500.0,"
+                        + "\"birthDate\":\"1956-09-23T07:00:00Z\",\"children\":0}";
+
+                // Act
+                mockMvc.perform(put("/clients/{id}", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+
+                // Assert
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "sueli")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[0].id").value(10));
+
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "chimamanda")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("Busca vazia deve retornar 400")
+        public void testarBuscaVazia() throws Exception {
+                mockMvc.perform(get("/clients/search")
+                        .param("q", "  ")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isBadRequest());
+        }
+}
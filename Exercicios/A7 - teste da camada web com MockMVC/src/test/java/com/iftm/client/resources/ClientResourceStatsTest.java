@@ -0,0 +1,109 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.services.index.ClientIndexMaintainer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ClientResourceStatsTest {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private ClientIndexMaintainer indexMaintainer;
+
+        @BeforeEach
+        public void setUp() {
+                indexMaintainer.rebuild();
+        }
+
+        private JsonNode stats() throws Exception {
+                String json = mockMvc.perform(get("/clients/stats")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(json);
+        }
+
+        @Test
+        @DisplayName("GET /clients/stats deve acompanhar insert e delete sem recalcular")
+        public void testarStatsIncrementais() throws Exception {
+                // Arrange
+                JsonNode antes = stats();
+                String json = "{\"name\":\"Milton Santos\",\"cpf\":\"12312312312\",\"income\":99999.0,"
+                        + "\"birthDate\":\"1926-05-03T07:00:00Z\",\"children\":7}";
+
+                // Act
+                String criado = mockMvc.perform(post("/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                long id = objectMapper.readTree(criado).get("id").asLong();
+                JsonNode depois = stats();
+
+                // Assert
+                assertEquals(antes.get("count").asLong() + 1, depois.get("count").asLong());
+                assertEquals(99999.0, depois.get("incomeMax").asDouble());
+                assertEquals(antes.get("incomeSum").decimalValue().add(new BigDecimal("99999.0")).doubleValue(),
+                        depois.get("incomeSum").decimalValue().doubleValue());
+                long comSeteFilhos = antes.get("childrenCounts").path("7").asLong(0);
+                assertEquals(comSeteFilhos + 1, depois.get("childrenCounts").get("7").asLong());
+
+                mockMvc.perform(delete("/clients/{id}", id))
+                        .andExpect(status().isNoContent());
+                JsonNode fim = stats();
+                assertEquals(antes.get("count").asLong(), fim.get("count").asLong());
+                assertEquals(antes.get("incomeMax").asDouble(), fim.get("incomeMax").asDouble());
+                assertEquals(antes.get("incomeAverage").asDouble(), fim.get("incomeAverage").asDouble(), 1e-9);
+                assertEquals(comSeteFilhos, fim.get("childrenCounts").path("7").asLong(0));
+        }
+
+        @Test
+        @DisplayName("GET /clients/incomeAboveAverage/ deve trazer só rendas acima da média atual")
+        public void testarAcimaDaMedia() throws Exception {
+                // Arrange
+                double media = stats().get("incomeAverage").asDouble();
+
+                // Act
+                String json = mockMvc.perform(get("/clients/incomeAboveAverage/")
+                        .param("orderBy", "income")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content").isArray())
+                        .andReturn().getResponse().getContentAsString();
+
+                // Assert
+                JsonNode content = objectMapper.readTree(json).get("content");
+                for (JsonNode client : content) {
+                        assertTrue(client.get("income").asDouble() > media);
+                }
+                assertEquals(10000.0, content.get(content.size() - 1).get("income").asDouble());
+        }
+}
@@ -0,0 +1,69 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.CompactPageDTO;
+
+/*
+ * Compara os bytes de uma página de 12 clientes em cada combinação de
+ * envelope (PageImpl completo ou compacto) e formato (JSON, CBOR, Smile), com
+ * os mesmos ObjectMappers que o Spring MVC monta para cada formato. Só o
+ * tamanho é verificado: ele não varia com a máquina.
+ */
+public class PageSerializationBenchmarkTest {
+
+	private static Page<ClientDTO> pagina() {
+		List<ClientDTO> content = new ArrayList<>();
+		for (long id = 1; id <= 12; id++) {
+			ClientDTO dto = new ClientDTO(id, "Cliente " + id, String.format("%011d", id * 7919),
+					1500.0 + id * 250, Instant.parse("1980-01-01T10:00:00Z").plusSeconds(id * 86400L),
+					(int) (id % 4));
+			dto.setVersion(0L);
+			content.add(dto);
+		}
+		return new PageImpl<>(content, PageRequest.of(0, 12, Direction.ASC, "name"), 1000);
+	}
+
+	@Test
+	@DisplayName("Envelope compacto e formatos binários devem reduzir os bytes por página")
+	public void medirSerializacao() throws Exception {
+		// Arrange
+		Page<ClientDTO> completo = pagina();
+		CompactPageDTO<ClientDTO> compacto = CompactPageDTO.of(completo);
+		Map<String, ObjectMapper> formatos = new LinkedHashMap<>();
+		formatos.put("json", Jackson2ObjectMapperBuilder.json().build());
+		formatos.put("cbor", Jackson2ObjectMapperBuilder.cbor().build());
+		formatos.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+
+		// Act
+		Map<String, Integer> bytes = new LinkedHashMap<>();
+		for (Map.Entry<String, ObjectMapper> formato : formatos.entrySet()) {
+			ObjectMapper mapper = formato.getValue();
+			bytes.put(formato.getKey() + "/page", mapper.writeValueAsBytes(completo).length);
+			bytes.put(formato.getKey() + "/compact", mapper.writeValueAsBytes(compacto).length);
+		}
+
+		// Assert
+		for (String formato : formatos.keySet()) {
+			assertTrue(bytes.get(formato + "/compact") < bytes.get(formato + "/page"));
+		}
+		assertTrue(bytes.get("cbor/compact") < bytes.get("json/compact"));
+		assertTrue(bytes.get("smile/compact") < bytes.get("json/compact"));
+	}
+}
@@ -0,0 +1,49 @@
+package com.iftm.client.services.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BoundedCacheTest {
+
+        @Test
+        @DisplayName("Ao passar do tamanho máximo o cache descarta a entrada usada há mais tempo")
+        public void testarDescarteLRU() {
+                // Arrange
+                BoundedCache<Long, String> cache = new BoundedCache<>(2, 60_000);
+                cache.put(1L, "Conceição Evaristo");
+                cache.put(2L, "Lázaro Ramos");
+
+                // Act
+                cache.get(1L);
+                cache.put(3L, "Clarice Lispector");
+
+                // Assert
+                assertEquals(2, cache.size());
+                assertEquals("Conceição Evaristo", cache.get(1L));
+                assertNull(cache.get(2L));
+                assertEquals("Clarice Lispector", cache.get(3L));
+                assertEquals(1L, cache.getEvictions());
+        }
+
+        @Test
+        @DisplayName("Os contadores de acertos e faltas devem refletir as leituras")
+        public void testarContadores() {
+                // Arrange
+                BoundedCache<Long, String> cache = new BoundedCache<>(10, 60_000);
+                cache.put(1L, "Gilberto Gil");
+
+                // Act
+                cache.get(1L);
+                cache.get(1L);
+                cache.get(99L);
+                cache.replace(99L, "Nunca lido");
+
+                // Assert
+                assertEquals(2L, cache.getHits());
+                assertEquals(1L, cache.getMisses());
+                assertEquals(1, cache.size());
+        }
+}
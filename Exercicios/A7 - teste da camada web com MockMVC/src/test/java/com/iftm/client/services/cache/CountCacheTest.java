@@ -0,0 +1,76 @@
+package com.iftm.client.services.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.services.events.ClientChangedEvent;
+
+public class CountCacheTest {
+
+        @Test
+        @DisplayName("O COUNT deve ser executado uma única vez enquanto o total estiver em cache")
+        public void testarCountExecutadoUmaVez() {
+                // Arrange
+                CountCache cache = new CountCache(10, 60);
+                AtomicInteger execucoes = new AtomicInteger();
+
+                // Act
+                cache.get("income=1500.0", () -> { execucoes.incrementAndGet(); return 3L; });
+                CountCache.Total total = cache.get("income=1500.0", () -> { execucoes.incrementAndGet(); return 3L; });
+
+                // Assert
+                assertEquals(1, execucoes.get());
+                assertEquals(3L, total.getValue());
+                assertTrue(total.isExact());
+        }
+
+        @Test
+        @DisplayName("Escritas ajustam o total geral e marcam os totais filtrados como estimados")
+        public void testarInvalidacaoPorEscrita() {
+                // Arrange
+                CountCache cache = new CountCache(10, 60);
+                cache.get(CountCache.ALL, () -> 12L);
+                cache.get("income=1500.0", () -> 3L);
+
+                // Act
+                cache.onClientChanged(ClientChangedEvent.inserted(new ClientDTO(13L, "Novo", "11122233344", 1500.0, null, 0)));
+                cache.onClientChanged(ClientChangedEvent.deleted(2L));
+                cache.onClientChanged(ClientChangedEvent.inserted(new ClientDTO(14L, "Outro", "11122233355", 900.0, null, 1)));
+
+                // Assert
+                CountCache.Total geral = cache.get(CountCache.ALL, () -> -1L);
+                CountCache.Total filtrado = cache.get("income=1500.0", () -> -1L);
+                assertEquals(13L, geral.getValue());
+                assertTrue(geral.isExact());
+                assertEquals(3L, filtrado.getValue());
+                assertFalse(filtrado.isExact());
+        }
+
+        @Test
+        @DisplayName("COUNT feito antes de uma escrita não deve ficar no cache como total exato")
+        public void testarCountConcorrenteComEscrita() {
+                // Arrange
+                CountCache cache = new CountCache(10, 60);
+                AtomicInteger execucoes = new AtomicInteger();
+
+                // Act
+                cache.get(CountCache.ALL, () -> {
+                        execucoes.incrementAndGet();
+                        // o insert commita entre o COUNT e a gravação no cache
+                        cache.onClientChanged(ClientChangedEvent.inserted(new ClientDTO(13L, "Novo", "11122233344", 1500.0, null, 0)));
+                        return 12L;
+                });
+                CountCache.Total geral = cache.get(CountCache.ALL, () -> { execucoes.incrementAndGet(); return 13L; });
+
+                // Assert
+                assertEquals(2, execucoes.get());
+                assertEquals(13L, geral.getValue());
+        }
+}